@@ -0,0 +1,24 @@
+#!/bin/bash
+
+# builds the simulators and the benchmarks, runs JMH and writes the results as JSON for regression tracking
+# usage: ./run.sh [results.json] [jmh options, e.g. a benchmark regex or -p duration=60]
+
+set -e
+
+OUT=$(realpath -m "${1:-benchmarks.json}")
+shift || true
+
+cd "$(dirname "$0")/../.."
+ROOT=$(pwd)
+
+for sim in sim-infinite-queue-epoch sim-long-running-txns sim-commit-groups sim-decentralised; do
+    (cd "$sim" && mvn -B -q package)
+done
+# the micro benchmarks compile against the installed finite queue simulator
+(cd sim-finite-queue-epoch && mvn -B -q install)
+(cd sim-benchmarks && mvn -B -q package)
+
+# simulators write their result files to the working directory
+mkdir -p sim-benchmarks/target/run
+cd sim-benchmarks/target/run
+java -jar ../benchmarks.jar -jvmArgsAppend -Dsim.root="$ROOT" -rf json -rff "$OUT" "$@"
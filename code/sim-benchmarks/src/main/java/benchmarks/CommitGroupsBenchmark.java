@@ -0,0 +1,83 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import state.Cluster;
+import state.DisjointSets;
+import utils.SimulationContext;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// commit group tracking for one epoch in which half as many distributed transactions as nodes add a dependency
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class CommitGroupsBenchmark
+{
+    @Param( {"64", "1024", "8192"} )
+    public int nodes;
+
+    private Cluster cluster;
+    private DisjointSets dependencySets;
+    private int[] dependencies;
+
+    @Setup( Level.Trial )
+    public void setup()
+    {
+        var random = new Random( 0 );
+        dependencies = new int[nodes];
+        for ( int i = 0; i < nodes; i++ )
+        {
+            dependencies[i] = random.nextInt( nodes );
+        }
+
+        Fixtures.configure( nodes, "heap" );
+        cluster = Cluster.getInstance();
+        for ( int i = 0; i < nodes; i += 2 )
+        {
+            cluster.addDependency( dependencies[i], dependencies[i + 1] );
+        }
+        dependencySets = new DisjointSets( nodes );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+    {
+        SimulationContext.clear();
+    }
+
+    // groups built at READY_TO_COMMIT
+    @Benchmark
+    public int computeCommitGroups()
+    {
+        cluster.computeCommitGroups();
+        return cluster.getNumberOfOperationalCommitGroups();
+    }
+
+    // dependencies added while processing, then the reset at the start of the next epoch
+    @Benchmark
+    public int addDependencies()
+    {
+        dependencySets.reset();
+        for ( int i = 0; i < nodes; i += 2 )
+        {
+            dependencySets.union( dependencies[i], dependencies[i + 1] );
+        }
+        return dependencySets.getComponents();
+    }
+}
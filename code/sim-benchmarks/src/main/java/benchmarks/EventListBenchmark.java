@@ -0,0 +1,83 @@
+package benchmarks;
+
+import event.AbstractEvent;
+import event.EventType;
+import event.TransactionEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.EventList;
+import utils.SimulationContext;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// hold model: the event list holds `size` pending events, each operation removes the earliest one and schedules a
+// replacement an exponential service time later (one in 64 replacements is an epoch timeout instead)
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class EventListBenchmark
+{
+    private static final double SERVICE_TIME = 0.001;  // secs
+    private static final double EPOCH_TIMEOUT = 0.01;  // secs
+    private static final int INCREMENTS = 1 << 20;
+
+    @Param( {"heap", "calendar", "sort"} )
+    public String impl;
+
+    @Param( {"64", "1024", "16384"} )
+    public int size;
+
+    private EventList eventList;
+    private double[] increments;
+    private int next;
+
+    @Setup( Level.Trial )
+    public void setup()
+    {
+        // pre-generate the increments so the random number generation is not measured
+        var random = new Random( 0 );
+        increments = new double[INCREMENTS];
+        for ( int i = 0; i < INCREMENTS; i++ )
+        {
+            increments[i] = i % 64 == 0 ? EPOCH_TIMEOUT : -Math.log( 1 - random.nextDouble() ) * SERVICE_TIME;
+        }
+
+        Fixtures.configure( size, impl );
+        eventList = EventList.getInstance();
+        for ( int i = 0; i < size; i++ )
+        {
+            eventList.addEvent( new TransactionEvent( increments[next++ & (INCREMENTS - 1)], EventType.TRANSACTION_COMPLETED, i, 0 ) );
+        }
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+    {
+        SimulationContext.clear();
+    }
+
+    @Benchmark
+    public AbstractEvent hold()
+    {
+        var event = eventList.getNextEvent();
+        var nodeId = ((TransactionEvent) event).getNodeId();
+        var time = event.getEventTime() + increments[next++ & (INCREMENTS - 1)];
+        eventList.addEvent( new TransactionEvent( time, EventType.TRANSACTION_COMPLETED, nodeId, 0 ) );
+        return event;
+    }
+}
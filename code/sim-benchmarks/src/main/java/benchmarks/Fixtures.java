@@ -0,0 +1,36 @@
+package benchmarks;
+
+import utils.Config;
+import utils.SimulationContext;
+
+// shared set up of the finite queue simulator for the micro benchmarks
+class Fixtures
+{
+    private Fixtures()
+    {
+
+    }
+
+    // fresh simulation context on the calling thread configured like the reference runs (n=64, a=10, m=5, lam=40)
+    static Config configure( int clusterSize, String eventListImpl )
+    {
+        SimulationContext.reset();
+        var config = Config.getInstance();
+        config.setClusterSize( clusterSize );
+        config.setEpochTimeout( 10 );
+        config.setCommitOperationRate( 1.7 );
+        config.setAbortOperationRate( 1.7 );
+        config.setTransactionServiceRate( 1 );
+        config.setFailureRate( 3000 );
+        config.setRepairRate( 800 );
+        config.setFixSeed( true );
+        config.setSeedValue( 11 );
+        config.setAlgorithm( "multi" );
+        config.setPropDistributedTransactions( 0.05 );
+        config.setAffinity( true );
+        config.setArrivalRate( 1 / 40.0 );
+        config.setFixedEpochTimeout( true );
+        config.setEventListImpl( eventListImpl );
+        return config;
+    }
+}
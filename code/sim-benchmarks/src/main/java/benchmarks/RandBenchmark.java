@@ -0,0 +1,80 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.Rand;
+import utils.SimulationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// cost of the random variates drawn on every transaction
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class RandBenchmark
+{
+    @Param( {"well", "splittable"} )
+    private String rng;
+
+    private Rand rand;
+    private int nodeId;
+
+    @Setup( Level.Trial )
+    public void setup()
+    {
+        Fixtures.configure( 64, "heap" ).setRandomGenerator( rng );
+        rand = Rand.getInstance();
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+    {
+        SimulationContext.clear();
+    }
+
+    @Benchmark
+    public double transactionServiceTime()
+    {
+        return rand.generateTransactionServiceTime();
+    }
+
+    @Benchmark
+    public double nextFailure()
+    {
+        return rand.generateNextFailure();
+    }
+
+    @Benchmark
+    public boolean distributedTransaction()
+    {
+        return rand.isDistributedTransaction();
+    }
+
+    @Benchmark
+    public int dependency()
+    {
+        nodeId = (nodeId + 1) & 63;
+        return rand.generateDependency( nodeId, false );
+    }
+
+    @Benchmark
+    public int dependencyWithAffinity()
+    {
+        nodeId = (nodeId + 1) & 63;
+        return rand.generateDependency( nodeId, true );
+    }
+}
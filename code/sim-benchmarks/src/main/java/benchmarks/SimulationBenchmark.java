@@ -0,0 +1,106 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// end-to-end run of each simulator with its default parameters and a fixed seed. The simulators share class names and
+// keep their state in statics, so every run loads the simulator's shaded jar in a fresh class loader. The events
+// counter is the number of clock updates (one per event) and is reported as events/s.
+// Simulators write their result files to the working directory, and jars are read from
+// <sim.root>/<simulator>/target/<simulator>-1.0-SNAPSHOT.jar (sim.root defaults to the parent directory)
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 1, time = 10 )
+@Measurement( iterations = 3, time = 10 )
+@Fork( 1 )
+public class SimulationBenchmark
+{
+    private static final String ROOT = System.getProperty( "sim.root", ".." );
+
+    @AuxCounters( AuxCounters.Type.OPERATIONS )
+    @State( Scope.Thread )
+    public static class Events
+    {
+        public long events;
+    }
+
+    @Param( {"sim-finite-queue-epoch", "sim-infinite-queue-epoch", "sim-long-running-txns", "sim-commit-groups", "sim-decentralised"} )
+    public String simulator;
+
+    // simulated seconds per run
+    @Param( {"10"} )
+    public String duration;
+
+    private URLClassLoader loader;
+
+    @Setup( Level.Invocation )
+    public void load() throws Exception
+    {
+        var jar = Path.of( ROOT, simulator, "target", simulator + "-1.0-SNAPSHOT.jar" );
+        if ( !Files.exists( jar ) )
+        {
+            throw new IllegalStateException( "Simulator jar not found: " + jar.toAbsolutePath() + " (run mvn package in " + simulator + ")" );
+        }
+        loader = new URLClassLoader( new URL[]{jar.toUri().toURL()}, ClassLoader.getPlatformClassLoader() );
+
+        // silence the simulator's console logging
+        var levelClass = loader.loadClass( "org.apache.log4j.Level" );
+        var rootLogger = loader.loadClass( "org.apache.log4j.Logger" ).getMethod( "getRootLogger" ).invoke( null );
+        rootLogger.getClass().getMethod( "setLevel", levelClass ).invoke( rootLogger, levelClass.getField( "OFF" ).get( null ) );
+    }
+
+    @TearDown( Level.Invocation )
+    public void unload() throws IOException
+    {
+        loader.close();
+    }
+
+    @Benchmark
+    public void runSimulation( Events events ) throws Exception
+    {
+        var main = loader.loadClass( "Main" ).getDeclaredConstructor().newInstance();
+        var commandLine = loader.loadClass( "picocli.CommandLine" ).getConstructor( Object.class ).newInstance( main );
+        var args = new String[]{"-s", "true", "-d", duration};
+
+        var out = System.out;
+        System.setOut( new PrintStream( OutputStream.nullOutputStream() ) );
+        int exitCode;
+        try
+        {
+            exitCode = (int) commandLine.getClass().getMethod( "execute", String[].class ).invoke( commandLine, (Object) args );
+        }
+        finally
+        {
+            System.setOut( out );
+        }
+        if ( exitCode != 0 )
+        {
+            throw new IllegalStateException( simulator + " exited with " + exitCode );
+        }
+
+        var clock = loader.loadClass( "utils.Clock" ).getMethod( "getInstance" ).invoke( null );
+        events.events += (long) clock.getClass().getMethod( "getTicks" ).invoke( clock );
+    }
+}
@@ -1,4 +1,5 @@
 import action.ReadyToCommitAction;
+import event.EventPool;
 import event.ReadyToCommitEvent;
 import picocli.CommandLine;
 import picocli.CommandLine.Option;
@@ -6,7 +7,6 @@ import picocli.CommandLine.Option;
 import action.EpochTimeoutAction;
 import action.DistributedTransactionAction;
 import event.AbstractEvent;
-import event.EpochTimeoutEvent;
 import event.EventType;
 import event.DistributedTransactionEvent;
 import state.Cluster;
@@ -48,6 +48,9 @@ public class Main implements Callable<Integer>
     @Option( names = {"-d", "--duration"}, description = "Simulation duration (secs)" )
     private double timeLimit = 10;
 
+    @Option( names = {"-el", "--eventListImpl"}, description = "Event list implementation (heap, calendar or sort)" )
+    private String eventListImpl = "heap";
+
     @Override
     public Integer call()
     {
@@ -55,6 +58,7 @@ public class Main implements Callable<Integer>
         var metrics = Metrics.getInstance();
         config.setClusterSize( cluster );
         config.setEpochTimeout( epochTimeout );
+        config.setEventListImpl( eventListImpl );
 
         if ( propDist != 0 )
         {
@@ -75,14 +79,15 @@ public class Main implements Callable<Integer>
 
             // coordinator node initialisation event
             var initEventTime = rand.generateNextEpoch();
-            var epochEvent = new EpochTimeoutEvent( initEventTime, EventType.EPOCH_TIMEOUT );
+            var epochEvent = EventPool.getInstance().getEpochTimeoutEvent( initEventTime, EventType.EPOCH_TIMEOUT );
             eventList.addEvent( epochEvent );
 
             // initial transaction events
             var clusterSize = config.getClusterSize();
+            var eventPool = EventPool.getInstance();
             for ( int i = 0; i < clusterSize; i++ )
             {
-                var transactionEvent = new DistributedTransactionEvent( rand.generateTransactionServiceTime(), EventType.DIST_TXN_COMPLETED, i );
+                var transactionEvent = eventPool.getDistributedTransactionEvent( rand.generateTransactionServiceTime(), EventType.DIST_TXN_COMPLETED, i );
                 eventList.addEvent( transactionEvent );
             }
 
@@ -110,6 +115,7 @@ public class Main implements Callable<Integer>
             metrics.getSummary();
             var realTime = (end - start) / 1000.0;
             LOGGER.info( "Real time (secs): " + String.format( "%.5f", realTime ) );
+            LOGGER.info( "Events allocated: " + EventPool.getInstance().getAllocatedEvents() + ", reused: " + EventPool.getInstance().getReusedEvents() );
             LOGGER.info( "Simulation completed!" );
             LOGGER.info( "--------------------" );
             LOGGER.info( "" );
@@ -137,6 +143,7 @@ public class Main implements Callable<Integer>
         var cluster = Cluster.getInstance();
         var clock = Clock.getInstance();
         var metrics = Metrics.getInstance();
+        var eventPool = EventPool.getInstance();
 
         while ( clock.getClock() < timeLimit )
         {
@@ -154,6 +161,9 @@ public class Main implements Callable<Integer>
             case EPOCH_TIMEOUT -> EpochTimeoutAction.timeout( cluster );
             case READY_TO_COMMIT -> ReadyToCommitAction.ready( (ReadyToCommitEvent) nextEvent, cluster, config, eventList, rand );
             }
+
+            // the event is no longer referenced once dispatched
+            eventPool.release( nextEvent );
             LOGGER.debug( "" );
         }
     }
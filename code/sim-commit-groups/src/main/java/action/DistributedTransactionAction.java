@@ -1,7 +1,7 @@
 package action;
 
+import event.EventPool;
 import event.EventType;
-import event.ReadyToCommitEvent;
 import event.DistributedTransactionEvent;
 import org.apache.log4j.Logger;
 import state.Cluster;
@@ -32,7 +32,7 @@ public class DistributedTransactionAction
 
             if ( cluster.areAllNodesReadyToCommit( config ) )
             {
-                var readyToCommitEvent = new ReadyToCommitEvent( thisEventTime, EventType.READY_TO_COMMIT );
+                var readyToCommitEvent = EventPool.getInstance().getReadyToCommitEvent( thisEventTime, EventType.READY_TO_COMMIT );
                 eventList.addEvent( readyToCommitEvent );
             }
         }
@@ -42,7 +42,7 @@ public class DistributedTransactionAction
     private static void generateNextDistributedTransactionCompletionEvent( EventList eventList, Rand rand, int thisNodeId, double thisEventTime )
     {
         var nextTransactionEventTime = thisEventTime + rand.generateTransactionServiceTime();
-        var nextTransactionEvent = new DistributedTransactionEvent( nextTransactionEventTime, EventType.DIST_TXN_COMPLETED, thisNodeId );
+        var nextTransactionEvent = EventPool.getInstance().getDistributedTransactionEvent( nextTransactionEventTime, EventType.DIST_TXN_COMPLETED, thisNodeId );
         eventList.addEvent( nextTransactionEvent );
     }
 }
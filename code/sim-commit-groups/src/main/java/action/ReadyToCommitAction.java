@@ -1,9 +1,8 @@
 package action;
 
-import event.EpochTimeoutEvent;
+import event.EventPool;
 import event.EventType;
 import event.ReadyToCommitEvent;
-import event.DistributedTransactionEvent;
 import org.apache.log4j.Logger;
 import state.Cluster;
 import utils.Config;
@@ -19,7 +18,6 @@ public class ReadyToCommitAction
     {
         var thisEventTime = event.getEventTime();
 
-        cluster.computeCommitGroups();
         cluster.complete( Metrics.getInstance() );
         cluster.resetClusterState( config );
 
@@ -30,17 +28,18 @@ public class ReadyToCommitAction
     private static void generateNextEpochTimeoutEvent( EventList eventList, Rand rand, double thisEventTime )
     {
         var nextEpochTimeoutEvent = thisEventTime + rand.generateNextEpoch();
-        var epochTimeoutEvent = new EpochTimeoutEvent( nextEpochTimeoutEvent, EventType.EPOCH_TIMEOUT );
+        var epochTimeoutEvent = EventPool.getInstance().getEpochTimeoutEvent( nextEpochTimeoutEvent, EventType.EPOCH_TIMEOUT );
         eventList.addEvent( epochTimeoutEvent );
     }
 
     private static void generateNextDistributedTransactionCompletionEvents( Config config, EventList eventList, Rand rand, double thisEventTime )
     {
         var clusterSize = config.getClusterSize();
+        var eventPool = EventPool.getInstance();
         for ( int nodeId = 0; nodeId < clusterSize; nodeId++ )
         {
             var nextTransactionCompletionTime = thisEventTime + rand.generateTransactionServiceTime();
-            var transactionEvent = new DistributedTransactionEvent( nextTransactionCompletionTime, EventType.DIST_TXN_COMPLETED, nodeId );
+            var transactionEvent = eventPool.getDistributedTransactionEvent( nextTransactionCompletionTime, EventType.DIST_TXN_COMPLETED, nodeId );
             eventList.addEvent( transactionEvent );
         }
     }
@@ -2,7 +2,7 @@ package event;
 
 public class DistributedTransactionEvent extends AbstractEvent
 {
-    private final int nodeId;
+    private int nodeId;
 
     public DistributedTransactionEvent( double eventTime, EventType eventTypeEnum, int nodeId )
     {
@@ -10,6 +10,12 @@ public class DistributedTransactionEvent extends AbstractEvent
         this.nodeId = nodeId;
     }
 
+    void reset( double eventTime, EventType eventTypeEnum, int nodeId )
+    {
+        reset( eventTime, eventTypeEnum );
+        this.nodeId = nodeId;
+    }
+
     public int getNodeId()
     {
         return nodeId;
@@ -0,0 +1,109 @@
+package event;
+
+import java.util.ArrayDeque;
+
+// recycles event objects to avoid allocating an event per transaction, events are released back to the pool by the
+// run loop once dispatched and must not be referenced afterwards
+public class EventPool
+{
+    private static final EventPool instance = new EventPool();
+
+    private final ArrayDeque<DistributedTransactionEvent> distributedTransactionEvents;
+    private final ArrayDeque<EpochTimeoutEvent> epochTimeoutEvents;
+    private final ArrayDeque<ReadyToCommitEvent> readyToCommitEvents;
+
+    private long allocatedEvents;
+    private long reusedEvents;
+
+    private EventPool()
+    {
+        this.distributedTransactionEvents = new ArrayDeque<>();
+        this.epochTimeoutEvents = new ArrayDeque<>();
+        this.readyToCommitEvents = new ArrayDeque<>();
+        this.allocatedEvents = 0;
+        this.reusedEvents = 0;
+    }
+
+    public static EventPool getInstance()
+    {
+        return instance;
+    }
+
+    public DistributedTransactionEvent getDistributedTransactionEvent( double eventTime, EventType eventTypeEnum, int nodeId )
+    {
+        var event = take( distributedTransactionEvents );
+        if ( event == null )
+        {
+            return new DistributedTransactionEvent( eventTime, eventTypeEnum, nodeId );
+        }
+        event.reset( eventTime, eventTypeEnum, nodeId );
+        return event;
+    }
+
+    public EpochTimeoutEvent getEpochTimeoutEvent( double eventTime, EventType eventTypeEnum )
+    {
+        var event = take( epochTimeoutEvents );
+        if ( event == null )
+        {
+            return new EpochTimeoutEvent( eventTime, eventTypeEnum );
+        }
+        event.reset( eventTime, eventTypeEnum );
+        return event;
+    }
+
+    public ReadyToCommitEvent getReadyToCommitEvent( double eventTime, EventType eventTypeEnum )
+    {
+        var event = take( readyToCommitEvents );
+        if ( event == null )
+        {
+            return new ReadyToCommitEvent( eventTime, eventTypeEnum );
+        }
+        event.reset( eventTime, eventTypeEnum );
+        return event;
+    }
+
+    public void release( AbstractEvent event )
+    {
+        if ( event.isPooled() )
+        {
+            throw new IllegalStateException( "Event released twice: " + event.getEventType() );
+        }
+        event.setPooled( true );
+
+        if ( event instanceof DistributedTransactionEvent distributedTransactionEvent )
+        {
+            distributedTransactionEvents.push( distributedTransactionEvent );
+        }
+        else if ( event instanceof EpochTimeoutEvent epochTimeoutEvent )
+        {
+            epochTimeoutEvents.push( epochTimeoutEvent );
+        }
+        else if ( event instanceof ReadyToCommitEvent readyToCommitEvent )
+        {
+            readyToCommitEvents.push( readyToCommitEvent );
+        }
+    }
+
+    public long getAllocatedEvents()
+    {
+        return allocatedEvents;
+    }
+
+    public long getReusedEvents()
+    {
+        return reusedEvents;
+    }
+
+    private <T extends AbstractEvent> T take( ArrayDeque<T> pool )
+    {
+        var event = pool.poll();
+        if ( event == null )
+        {
+            allocatedEvents += 1;
+            return null;
+        }
+        reusedEvents += 1;
+        event.setPooled( false );
+        return event;
+    }
+}
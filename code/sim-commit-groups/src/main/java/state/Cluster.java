@@ -2,19 +2,12 @@ package state;
 
 import action.DistributedTransactionAction;
 import org.apache.log4j.Logger;
-import org.jgrapht.Graph;
-import org.jgrapht.alg.connectivity.BiconnectivityInspector;
-import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.graph.SimpleGraph;
 import utils.Config;
 import utils.Metrics;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 
 public class Cluster
 {
@@ -27,24 +20,24 @@ public class Cluster
     EpochState currentEpochState;
     // node status (per node)
     List<NodeState> nodeStates;
-    // dependency graph for this current epoch
-    Graph<Integer,DefaultEdge> dependencyGraph;
-    // commit groups for the current epoch
-    Map<Integer,CommitGroup> commitGroupMap;
+    // number of nodes in each state
+    int[] nodeStateCounts;
+    // dependency sets for this current epoch, each set is a commit group
+    DisjointSets dependencySets;
 
     private Cluster()
     {
         this.currentEpochState = EpochState.PROCESSING;
         var clusterSize = Config.getInstance().getClusterSize();
         this.nodeStates = new ArrayList<>();
-        dependencyGraph = new SimpleGraph<>( DefaultEdge.class );
-        this.commitGroupMap = new HashMap<>();
+        this.nodeStateCounts = new int[NodeState.values().length];
+        this.dependencySets = new DisjointSets( clusterSize );
 
         for ( int i = 0; i < clusterSize; i++ )
         {
-            dependencyGraph.addVertex( i );
             nodeStates.add( NodeState.OPERATIONAL );
         }
+        nodeStateCounts[NodeState.OPERATIONAL.ordinal()] = clusterSize;
     }
 
     public static Cluster getInstance()
@@ -54,10 +47,9 @@ public class Cluster
 
     public void addDependency( int nodeA, int nodeB )
     {
-        if ( !this.dependencyGraph.containsEdge( nodeA, nodeB ) )
+        if ( dependencySets.union( nodeA, nodeB ) )
         {
             LOGGER.debug( String.format( " - add from %s to %s", nodeA, nodeB ) );
-            this.dependencyGraph.addEdge( nodeA, nodeB );
         }
     }
 
@@ -68,16 +60,8 @@ public class Cluster
 
     public boolean areAllNodesReadyToCommit( Config config )
     {
-        for ( int i = 0; i < config.getClusterSize(); i++ )
-        {
-            var nodeState = getNodeState( i );
-            if ( nodeState == NodeState.OPERATIONAL )
-            {
-                return false; // one node is not ready yet
-            }
-        }
-
-        return true;
+        assert nodeStateCountsMatchScan();
+        return nodeStateCounts[NodeState.OPERATIONAL.ordinal()] == 0;
     }
 
     public void complete( Metrics metrics )
@@ -97,13 +81,7 @@ public class Cluster
 
         currentEpochState = EpochState.PROCESSING; // set to processing
 
-        Graph<Integer,DefaultEdge> clean = new SimpleGraph<>( DefaultEdge.class );
-        for ( int i = 0; i < clusterSize; i++ )
-        {
-            clean.addVertex( i );
-        }
-        this.dependencyGraph = clean;
-        this.commitGroupMap = new HashMap<>();
+        dependencySets.reset();
     }
 
     public void setCurrentEpochState( EpochState currentEpochState )
@@ -113,34 +91,32 @@ public class Cluster
 
     public void setNodeState( int nodeId, NodeState state )
     {
-        this.nodeStates.set( nodeId, state );
-    }
+        var previous = this.nodeStates.set( nodeId, state );
+        nodeStateCounts[previous.ordinal()] -= 1;
+        nodeStateCounts[state.ordinal()] += 1;
 
-    public NodeState getNodeState( int nodeId )
-    {
-        return nodeStates.get( nodeId );
+        assert nodeStateCountsMatchScan();
     }
 
-    public void computeCommitGroups()
+    // full scan cross-check of the incremental state counts, only run with assertions enabled (-ea)
+    private boolean nodeStateCountsMatchScan()
     {
-        Map<Integer,CommitGroup> commitGroups = new HashMap<>();
-        var scAlgo = new BiconnectivityInspector<>( dependencyGraph );
-        var connectedComponents = scAlgo.getConnectedComponents();
-        int commitGroupId = 0;
-
-        for ( var component : connectedComponents )
+        var counts = new int[nodeStateCounts.length];
+        for ( var nodeState : nodeStates )
         {
-            var members = component.vertexSet();
-            var commitGroup = new CommitGroup( commitGroupId, members );
-            commitGroups.put( commitGroupId, commitGroup );
-            commitGroupId += 1;
+            counts[nodeState.ordinal()] += 1;
         }
-        this.commitGroupMap = commitGroups;
+        return Arrays.equals( counts, nodeStateCounts );
+    }
+
+    public NodeState getNodeState( int nodeId )
+    {
+        return nodeStates.get( nodeId );
     }
 
     public int getNumberOfCommitGroups()
     {
-        return commitGroupMap.size();
+        return dependencySets.getComponents();
     }
 
     @Override
@@ -149,8 +125,7 @@ public class Cluster
         return "Cluster{" +
                "state=" + currentEpochState +
                ", nodeStates=" + nodeStates +
-               ", dependencyGraph=" + dependencyGraph +
-               ", commitGroupMap=" + commitGroupMap +
+               ", commitGroups=" + getNumberOfCommitGroups() +
                '}';
     }
 }
@@ -0,0 +1,74 @@
+package state;
+
+// disjoint set forest over node ids (union by rank, path halving), each set is one commit group of the current epoch
+public class DisjointSets
+{
+    private final int[] parent;
+    private final byte[] rank;
+    private int components;
+
+    public DisjointSets( int size )
+    {
+        this.parent = new int[size];
+        this.rank = new byte[size];
+        reset();
+    }
+
+    // every node back in its own set
+    public void reset()
+    {
+        for ( int i = 0; i < parent.length; i++ )
+        {
+            parent[i] = i;
+            rank[i] = 0;
+        }
+        components = parent.length;
+    }
+
+    public int find( int node )
+    {
+        while ( parent[node] != node )
+        {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    // merge the sets containing a and b, returns false if they were already in the same set
+    public boolean union( int a, int b )
+    {
+        var rootA = find( a );
+        var rootB = find( b );
+        if ( rootA == rootB )
+        {
+            return false;
+        }
+
+        if ( rank[rootA] < rank[rootB] )
+        {
+            parent[rootA] = rootB;
+        }
+        else if ( rank[rootA] > rank[rootB] )
+        {
+            parent[rootB] = rootA;
+        }
+        else
+        {
+            parent[rootB] = rootA;
+            rank[rootA] += 1;
+        }
+        components -= 1;
+        return true;
+    }
+
+    public int getComponents()
+    {
+        return components;
+    }
+
+    public int size()
+    {
+        return parent.length;
+    }
+}
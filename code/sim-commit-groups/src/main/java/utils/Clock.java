@@ -4,6 +4,7 @@ public class Clock
 {
     private static final Clock instance = new Clock();
     private double clock; // (secs)
+    private long ticks; // clock updates, one per event processed
 
     private Clock()
     {
@@ -18,6 +19,12 @@ public class Clock
     public void setClock( double eventTime )
     {
         clock = eventTime;
+        ticks += 1;
+    }
+
+    public long getTicks()
+    {
+        return ticks;
     }
 
     public double getClock()
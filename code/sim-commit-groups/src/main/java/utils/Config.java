@@ -9,6 +9,7 @@ public class Config
     private static double transactionServiceRate;
     private static long seedValue = 0;
     private static boolean fixSeed = true;
+    private static String eventListImpl = "heap";
 
     private Config()
     {
@@ -80,6 +81,16 @@ public class Config
         Config.fixSeed = fixSeed;
     }
 
+    public String getEventListImpl()
+    {
+        return eventListImpl;
+    }
+
+    public void setEventListImpl( String eventListImpl )
+    {
+        Config.eventListImpl = eventListImpl;
+    }
+
     @Override
     public String toString()
     {
@@ -88,6 +99,7 @@ public class Config
                "    epoch timeout (ms): " + getEpochTimeoutInMillis() + "\n" +
                "    average transaction service rate (ms): " + getTransactionServiceRateInMillis() + "\n" +
                "    set seed: " + fixSeed + "\n" +
-               "    seed value: " + seedValue;
+               "    seed value: " + seedValue + "\n" +
+               "    event list: " + eventListImpl;
     }
 }
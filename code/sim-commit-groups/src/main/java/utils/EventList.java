@@ -2,18 +2,16 @@ package utils;
 
 import event.AbstractEvent;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Objects;
 
 public class EventList
 {
     private static final EventList instance = new EventList();
-    private final List<AbstractEvent> eventList;
+    private final EventQueue eventList;
 
     private EventList()
     {
-        eventList = new ArrayList<>();
+        eventList = createQueue( Config.getInstance().getEventListImpl() );
     }
 
     public static EventList getInstance()
@@ -21,13 +19,38 @@ public class EventList
         return instance;
     }
 
+    static EventQueue createQueue( String impl )
+    {
+        if ( Objects.equals( impl, "heap" ) )
+        {
+            return new HeapEventQueue();
+        }
+        else if ( Objects.equals( impl, "calendar" ) )
+        {
+            return new CalendarEventQueue();
+        }
+        else if ( Objects.equals( impl, "sort" ) )
+        {
+            return new SortedEventQueue();
+        }
+        else
+        {
+            throw new IllegalArgumentException( "Invalid event list implementation: " + impl );
+        }
+    }
+
     public void addEvent( AbstractEvent event )
     {
         eventList.add( event );
     }
 
-    public AbstractEvent getNextEvent() {
-        Collections.sort(eventList);
-        return eventList.remove(0);
+    public AbstractEvent getNextEvent()
+    {
+        return eventList.poll();
+    }
+
+    public int size()
+    {
+        return eventList.size();
     }
 }
@@ -0,0 +1,13 @@
+package utils;
+
+import event.AbstractEvent;
+
+interface EventQueue
+{
+    void add( AbstractEvent event );
+
+    // removes the earliest event, events with equal times are returned in the order they were added
+    AbstractEvent poll();
+
+    int size();
+}
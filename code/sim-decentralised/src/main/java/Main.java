@@ -6,6 +6,7 @@ import action.TransactionCompletionAction;
 import event.*;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
+import network.Network;
 import picocli.CommandLine;
 import picocli.CommandLine.Option;
 import state.Cluster;
@@ -48,6 +49,21 @@ public class Main implements Callable<Integer> {
     @Option(names = {"-ll", "--logLevel"}, description = "Log level")
     private String logLevel = "info";
 
+    @Option(names = {"-el", "--eventListImpl"}, description = "Event list implementation (heap, calendar or sort)")
+    private String eventListImpl = "heap";
+
+    @Option(names = {"-nm", "--networkModel"}, description = "Network model (legacy or link)")
+    private String networkModel = "legacy";
+
+    @Option(names = {"-bw", "--bandwidth"}, description = "Uplink bandwidth per node in the link network model (Mbit/s, 0 for unlimited)")
+    private double bandwidth = 1000;
+
+    @Option(names = {"-ld", "--latencyDistribution"}, description = "Link latency distribution in the link network model (exponential, constant or uniform)")
+    private String latencyDistribution = "exponential";
+
+    @Option(names = {"-pw", "--piggybackWindow"}, description = "Hold messages for this long and piggyback later messages on the same link onto them, this also coalesces a node's prepares to one peer across back-to-back epochs (ms, 0 for off)")
+    private double piggybackWindow = 0;
+
     @Override
     public Integer call() {
         // logging
@@ -72,12 +88,18 @@ public class Main implements Callable<Integer> {
         config.setPropLongTransactions(propLongTransactions);
         config.setPropDistributedTransaction(propDistributedTransactions);
         config.setFixSeed(Boolean.parseBoolean(fixSeed));
+        config.setEventListImpl(eventListImpl);
+        config.setNetworkModel(networkModel);
+        config.setBandwidth(bandwidth);
+        config.setLatencyDistribution(latencyDistribution);
+        config.setPiggybackWindow(piggybackWindow);
 
         // global variables
         var rand = Rand.getInstance();
         var eventList = EventList.getInstance();
         var metrics = Metrics.getInstance();
         var cluster = Cluster.getInstance();
+        Network.getInstance();
 
         // initial transaction events and timeouts
         var clusterSize = config.getClusterSize();
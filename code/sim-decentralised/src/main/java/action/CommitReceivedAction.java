@@ -32,7 +32,7 @@ public class CommitReceivedAction {
                 throw new IllegalStateException("Should be FOLLOWER to receive a commit message");
             }
             case FOLLOWER -> {
-                thisNode.nextEpoch();
+                thisNode.nextEpoch(event.getEventTime());
                 thisNode.setState(EXECUTING);
                 LOGGER.debug("   Transition to EXECUTING");
 
@@ -28,6 +28,7 @@ public class NodeTimeoutAction {
         switch (thisNodeState) {
             case EXECUTING -> {
                 thisNode.setState(WAITING);
+                thisNode.startCommit(event.getEventTime());
                 LOGGER.debug("    Transition to WAITING (must complete in-flight transactions).");
                 var thisNodeKnownDependencies = thisNode.getDependencies();
                 LOGGER.debug(String.format("    Current leader in epoch %s: %s", thisNodeCurrentEpoch, thisNode.getCurrentLeader()));
@@ -1,20 +1,17 @@
 package action;
 
-import event.CommitReceivedEvent;
 import event.EventType;
 import event.NodeTimeoutEvent;
 import event.PrepareAckReceivedEvent;
-import event.PrepareReceivedEvent;
+import network.Network;
 import org.apache.log4j.Logger;
 import state.Cluster;
-import state.Dependency;
 import state.Node;
 import utils.EventList;
 import utils.Rand;
 
 import static action.PrepareReceivedAction.isPrepareMessageForOldEpoch;
 import static action.TransactionCompletionAction.generateTransactionCompletionEvent;
-import static event.EventType.COMMIT_RECEIVED;
 import static state.Node.State.EXECUTING;
 import static state.Node.State.FOLLOWER;
 
@@ -41,22 +38,17 @@ public class PrepareReceivedAckAction {
                 // if missing any dependencies, update dependencies and send them prepare
                 if (thisNode.isMissingDependencies(event.getDependencies())) {
                     LOGGER.debug("   Missing dependencies");
-                    for (var expectedDependency : event.getDependencies()) {
-                        if (!thisNode.getDependencies().contains(expectedDependency)) {
+                    var expectedDependencies = event.getDependencies();
+                    for (int i = 0; i < expectedDependencies.size(); i++) {
+                        var expectedNodeId = expectedDependencies.nodeId(i);
+                        if (!thisNode.getDependencies().contains(expectedNodeId, expectedDependencies.epoch(i))) {
                             // do not add self dependencies / send to self
-                            if (expectedDependency.nodeId() != thisNodeId) {
-                                thisNode.addDependency(expectedDependency.nodeId(), expectedDependency.epoch());
-
-                                var prepareReceivedEventTime = event.getEventTime() + rand.generateNetworkDelayDuration();
-                                var thisNodeEpoch = thisNode.getCurrentEpoch();
-                                var prepareReceivedEvent = new PrepareReceivedEvent(
-                                        prepareReceivedEventTime,
-                                        EventType.PREPARE_RECEIVED,
-                                        thisNodeId,
-                                        expectedDependency.nodeId(),
-                                        thisNodeEpoch, thisNode.getDependencies());
-                                eventList.addEvent(prepareReceivedEvent);
-                                LOGGER.debug("   Send prepare to node " + expectedDependency.nodeId());
+                            if (expectedNodeId != thisNodeId) {
+                                thisNode.addDependency(expectedNodeId, expectedDependencies.epoch(i));
+
+                                Network.getInstance().sendPrepare(eventList, event.getEventTime(), thisNodeId, expectedNodeId,
+                                        thisNode.getCurrentEpoch(), thisNode.getDependencies());
+                                LOGGER.debug("   Send prepare to node " + expectedNodeId);
                             }
                         }
                     }
@@ -71,18 +63,13 @@ public class PrepareReceivedAckAction {
 
                     LOGGER.debug("   received all acks");
 
-                    for (var dependency : thisNode.getDependencies()) {
-                        var commitReceivedEventTime = event.getEventTime() + rand.generateNetworkDelayDuration();
-                        var commitReceivedEvent = new CommitReceivedEvent(
-                                commitReceivedEventTime,
-                                COMMIT_RECEIVED,
-                                thisNodeId,
-                                dependency.nodeId(),
-                                thisNode.getCurrentEpoch());
-                        eventList.addEvent(commitReceivedEvent);
+                    var dependencies = thisNode.getDependencies();
+                    var network = Network.getInstance();
+                    for (int i = 0; i < dependencies.size(); i++) {
+                        network.sendCommit(eventList, event.getEventTime(), thisNodeId, dependencies.nodeId(i), thisNode.getCurrentEpoch());
                     }
 
-                    thisNode.nextEpoch();
+                    thisNode.nextEpoch(event.getEventTime());
                     thisNode.setState(EXECUTING);
                     LOGGER.debug("   transition to EXECUTING");
 
@@ -103,7 +90,7 @@ public class PrepareReceivedAckAction {
     }
 
     private static boolean isStaleMessage(PrepareAckReceivedEvent event, int thisNodeId, Node thisNode, int senderNodeId) {
-        var thisNodeExpectedEpoch = event.getDependencies().stream().filter(dependency -> dependency.nodeId() == thisNodeId).map(Dependency::epoch).toList().get(0);
+        var thisNodeExpectedEpoch = event.getDependencies().epochOf(thisNodeId);
         var thisNodeCurrentEpoch = thisNode.getCurrentEpoch();
         if (isPrepareMessageForOldEpoch(thisNodeExpectedEpoch, thisNodeCurrentEpoch)) {
             LOGGER.debug(String.format("   Ignore stale prepare message from node %s", senderNodeId));
@@ -1,11 +1,9 @@
 package action;
 
-import event.EventType;
-import event.PrepareAckReceivedEvent;
 import event.PrepareReceivedEvent;
+import network.Network;
 import org.apache.log4j.Logger;
 import state.Cluster;
-import state.Dependency;
 import state.Node;
 import utils.EventList;
 import utils.Rand;
@@ -22,7 +20,7 @@ public class PrepareReceivedAction {
 
         LOGGER.debug(String.format("   Node %s received prepare message from node %s", thisNodeId, senderNodeId));
 
-        var thisNodeExpectedEpoch = event.getDependencies().stream().filter(dependency -> dependency.nodeId() == thisNodeId).map(Dependency::epoch).toList().get(0);
+        var thisNodeExpectedEpoch = event.getDependencies().epochOf(thisNodeId);
         var thisNodeCurrentEpoch = thisNode.getCurrentEpoch();
         if (isPrepareMessageForOldEpoch(thisNodeExpectedEpoch, thisNodeCurrentEpoch)) {
             LOGGER.debug(String.format("   Ignore stale prepare message from node %s", senderNodeId));
@@ -35,6 +33,7 @@ public class PrepareReceivedAction {
         switch (thisNodeState) {
             case EXECUTING -> {
                 thisNode.setState(Node.State.WAITING);
+                thisNode.startCommit(event.getEventTime());
                 LOGGER.debug("    Transition to WAITING (must complete in-flight transactions).");
 
                 thisNode.setCurrentLeader(event.getSenderId());
@@ -61,7 +60,7 @@ public class PrepareReceivedAction {
 
                     updateDependencies(event, thisNodeId, thisNode);
 
-                    sendPrepareAck(event, rand, eventList, thisNodeId, thisNode);
+                    sendPrepareAck(event, eventList, thisNodeId, thisNode);
                 } else {
                     LOGGER.debug(String.format("   Ignore prepare message from node %s. Current leader is node: %s", senderNodeId, thisNodeCurrentLeader));
                 }
@@ -75,7 +74,7 @@ public class PrepareReceivedAction {
 
                     updateDependencies(event, thisNodeId, thisNode);
 
-                    sendPrepareAck(event, rand, eventList, thisNodeId, thisNode);
+                    sendPrepareAck(event, eventList, thisNodeId, thisNode);
                 } else {
                     var thisNodeCurrentLeader = thisNode.getCurrentLeader();
                     if (!isNodeStillLeader(thisNodeId, thisNode)) {
@@ -99,18 +98,11 @@ public class PrepareReceivedAction {
         LOGGER.debug("   Received dependencies from sender: " + event.getDependencies());
         LOGGER.debug("   Current dependencies: " + thisNode.getDependencies());
 
-        for (var expectedDependency : event.getDependencies()) {
-            if (!thisNode.getDependencies().contains(expectedDependency)) {
-                // do not add self dependencies / send to self
-                if (expectedDependency.nodeId() != thisNodeId) {
-                    thisNode.addDependency(expectedDependency.nodeId(), expectedDependency.epoch());
-                    LOGGER.debug("   Update dependencies with node " + expectedDependency.nodeId());
-                }
-            }
-        }
+        // do not add self dependencies / send to self
+        thisNode.addDependencies(event.getDependencies());
 
         // what if sender not included
-        if (!thisNode.getDependencies().contains(new Dependency(event.getSenderId(), event.getSenderEpoch()))) {
+        if (!thisNode.getDependencies().contains(event.getSenderId(), event.getSenderEpoch())) {
             thisNode.addDependency(event.getSenderId(), event.getSenderEpoch());
             LOGGER.debug("   Update dependencies with node " + event.getSenderId());
 
@@ -118,19 +110,11 @@ public class PrepareReceivedAction {
         LOGGER.debug("   Updated dependencies: " + thisNode.getDependencies());
     }
 
-    private static void sendPrepareAck(PrepareReceivedEvent event, Rand rand, EventList eventList, int thisNodeId, Node thisNode) {
+    private static void sendPrepareAck(PrepareReceivedEvent event, EventList eventList, int thisNodeId, Node thisNode) {
         var leader = thisNode.getCurrentLeader();
-        var prepareAckReceivedEventTime = event.getEventTime() + rand.generateNetworkDelayDuration();
-        var prepareAckReceivedEvent = new PrepareAckReceivedEvent(
-                prepareAckReceivedEventTime,
-                EventType.PREPARE_ACK_RECEIVED,
-                thisNodeId,
-                leader,
-                thisNode.getDependencies());
+        Network.getInstance().sendPrepareAck(eventList, event.getEventTime(), thisNodeId, leader, thisNode.getDependencies());
         LOGGER.debug("   Send prepare ack message to node " + leader);
         LOGGER.debug("   Sent dependencies: " + thisNode.getDependencies());
-
-        eventList.addEvent(prepareAckReceivedEvent);
     }
 
 }
@@ -2,9 +2,8 @@ package action;
 
 import event.EventType;
 import event.NodeTimeoutEvent;
-import event.PrepareAckReceivedEvent;
-import event.PrepareReceivedEvent;
 import event.TransactionCompletionEvent;
+import network.Network;
 import org.apache.log4j.Logger;
 import state.Cluster;
 import state.Node;
@@ -48,14 +47,7 @@ public class TransactionCompletionAction {
                     LOGGER.debug("    Transition to FOLLOWER (in-flight transaction complete and received a prepare message before epoch timed out).");
 
                     var leader = thisNode.getCurrentLeader();
-                    var prepareAckReceivedEventTime = event.getEventTime() + rand.generateNetworkDelayDuration();
-                    var prepareAckReceivedEvent = new PrepareAckReceivedEvent(
-                            prepareAckReceivedEventTime,
-                            EventType.PREPARE_ACK_RECEIVED,
-                            thisNodeId,
-                            leader,
-                            thisNode.getDependencies());
-                    eventList.addEvent(prepareAckReceivedEvent);
+                    var prepareAckReceivedEventTime = Network.getInstance().sendPrepareAck(eventList, event.getEventTime(), thisNodeId, leader, thisNode.getDependencies());
                     LOGGER.debug(String.format("   Send PREPARE_ACK_RECEIVED to current known leader: node %s at %.2fms", leader, prepareAckReceivedEventTime * 1000.0));
                 } else {
                     thisNode.setState(COORDINATOR);
@@ -69,24 +61,17 @@ public class TransactionCompletionAction {
                     var thisNodeKnownDependencies = thisNode.getDependencies();
                     if (!thisNodeKnownDependencies.isEmpty()) {
                         LOGGER.debug(String.format("    Send prepare message to all known dependencies: %s", thisNodeKnownDependencies));
-                        for (var dependency : thisNodeKnownDependencies) {
-
-                            var prepareReceivedEventTime = event.getEventTime() + rand.generateNetworkDelayDuration();
-                            var thisNodeEpoch = thisNode.getCurrentEpoch();
-                            var prepareReceivedEvent = new PrepareReceivedEvent(
-                                    prepareReceivedEventTime,
-                                    EventType.PREPARE_RECEIVED,
-                                    thisNodeId,
-                                    dependency.nodeId(),
-                                    thisNodeEpoch,
-                                    thisNode.getDependencies());
-                            eventList.addEvent(prepareReceivedEvent);
-                            LOGGER.debug(String.format("   Send PREPARE_RECEIVED to node %s at %.2fms", dependency.nodeId(), prepareReceivedEventTime * 1000.0));
+                        for (int i = 0; i < thisNodeKnownDependencies.size(); i++) {
+                            var dependencyNodeId = thisNodeKnownDependencies.nodeId(i);
+
+                            var prepareReceivedEventTime = Network.getInstance().sendPrepare(eventList, event.getEventTime(), thisNodeId, dependencyNodeId,
+                                    thisNode.getCurrentEpoch(), thisNode.getDependencies());
+                            LOGGER.debug(String.format("   Send PREPARE_RECEIVED to node %s at %.2fms", dependencyNodeId, prepareReceivedEventTime * 1000.0));
                         }
                     } else {
                         LOGGER.debug("    No known dependencies. Move to next epoch, transition to EXECUTING ");
                         thisNode.setState(EXECUTING);
-                        thisNode.nextEpoch();
+                        thisNode.nextEpoch(event.getEventTime());
 
                         var thisEventTime = event.getEventTime();
                         var thisNodeNextEpoch = thisNode.getCurrentEpoch();
@@ -1,15 +1,13 @@
 package event;
 
-import state.Dependency;
-
-import java.util.Set;
+import state.DependencySet;
 
 public class PrepareAckReceivedEvent extends AbstractEvent {
     private final int senderId;
     private final int receiverId;
-    private final Set<Dependency> dependencies;
+    private final DependencySet dependencies;
 
-    public PrepareAckReceivedEvent(double eventTime, EventType eventTypeEnum, int senderId, int receiverId, Set<Dependency> dependencies) {
+    public PrepareAckReceivedEvent(double eventTime, EventType eventTypeEnum, int senderId, int receiverId, DependencySet dependencies) {
         super(eventTime, eventTypeEnum);
         this.senderId = senderId;
         this.receiverId = receiverId;
@@ -24,7 +22,7 @@ public class PrepareAckReceivedEvent extends AbstractEvent {
         return receiverId;
     }
 
-    public Set<Dependency> getDependencies() {
+    public DependencySet getDependencies() {
         return dependencies;
     }
 }
\ No newline at end of file
@@ -1,17 +1,15 @@
 package event;
 
-import state.Dependency;
-
-import java.util.Set;
+import state.DependencySet;
 
 public class PrepareReceivedEvent extends AbstractEvent {
     private final int senderId;
     private final int receiverId;
     private final int senderEpoch;
 
-    private final Set<Dependency> dependencies;
+    private final DependencySet dependencies;
 
-    public PrepareReceivedEvent(double eventTime, EventType eventTypeEnum, int senderId, int receiverId, int senderEpoch, Set<Dependency> dependencies) {
+    public PrepareReceivedEvent(double eventTime, EventType eventTypeEnum, int senderId, int receiverId, int senderEpoch, DependencySet dependencies) {
         super(eventTime, eventTypeEnum);
         this.senderId = senderId;
         this.receiverId = receiverId;
@@ -27,7 +25,7 @@ public class PrepareReceivedEvent extends AbstractEvent {
         return receiverId;
     }
 
-    public Set<Dependency> getDependencies() {
+    public DependencySet getDependencies() {
         return dependencies;
     }
 
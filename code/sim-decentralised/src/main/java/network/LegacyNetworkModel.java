@@ -0,0 +1,30 @@
+package network;
+
+import utils.Rand;
+
+/**
+ * Every message is delayed independently by an exponential network delay, with no bandwidth or queueing.
+ */
+class LegacyNetworkModel implements NetworkModel {
+    private final Rand rand;
+
+    LegacyNetworkModel(Rand rand) {
+        this.rand = rand;
+    }
+
+    @Override
+    public double deliveryTime(int senderId, int receiverId, double sendTime, int bytes) {
+        return sendTime + rand.generateNetworkDelayDuration();
+    }
+
+    // sizes are not modelled, appended bytes arrive with the message
+    @Override
+    public double append(int senderId, int receiverId, double arrival, int bytes) {
+        return arrival;
+    }
+
+    @Override
+    public double getQueueingDelay() {
+        return 0;
+    }
+}
@@ -0,0 +1,76 @@
+package network;
+
+import utils.Rand;
+
+/**
+ * Each link is a FIFO queue and the links out of a node share its uplink. A message waits until the uplink has sent
+ * everything queued before it, takes bytes / bandwidth to send and then a sampled latency to arrive, and never
+ * overtakes an earlier message on the same link. Bytes appended to a message are sent on the uplink after it, and
+ * after anything queued behind it, and take the same latency.
+ */
+class LinkQueueNetworkModel implements NetworkModel {
+    private final Rand rand;
+    private final int clusterSize;
+    private final double bytesPerSec;
+
+    // time each node's uplink is next free
+    private final double[] uplinkFree;
+
+    // arrival time of the last message on each link, sender * clusterSize + receiver
+    private final double[] lastArrival;
+
+    // time the last message on each link has been sent and the latency sampled for it
+    private final double[] lastSent;
+    private final double[] lastLatency;
+
+    private double queueingDelay;
+
+    // bandwidth in Mbit/s, 0 for unlimited
+    LinkQueueNetworkModel(Rand rand, int clusterSize, double bandwidth) {
+        this.rand = rand;
+        this.clusterSize = clusterSize;
+        this.bytesPerSec = bandwidth * 1e6 / 8;
+        this.uplinkFree = new double[clusterSize];
+        this.lastArrival = new double[clusterSize * clusterSize];
+        this.lastSent = new double[clusterSize * clusterSize];
+        this.lastLatency = new double[clusterSize * clusterSize];
+        this.queueingDelay = 0;
+    }
+
+    @Override
+    public double deliveryTime(int senderId, int receiverId, double sendTime, int bytes) {
+        var departure = Math.max(sendTime, uplinkFree[senderId]);
+        queueingDelay += departure - sendTime;
+
+        var transmission = bytesPerSec > 0 ? bytes / bytesPerSec : 0;
+        uplinkFree[senderId] = departure + transmission;
+
+        var link = senderId * clusterSize + receiverId;
+        var latency = rand.generateLinkLatency();
+        var arrival = Math.max(departure + transmission + latency, lastArrival[link]);
+        lastArrival[link] = arrival;
+        lastSent[link] = departure + transmission;
+        lastLatency[link] = latency;
+        return arrival;
+    }
+
+    @Override
+    public double append(int senderId, int receiverId, double arrival, int bytes) {
+        var link = senderId * clusterSize + receiverId;
+        var departure = Math.max(lastSent[link], uplinkFree[senderId]);
+        queueingDelay += departure - lastSent[link];
+
+        var transmission = bytesPerSec > 0 ? bytes / bytesPerSec : 0;
+        uplinkFree[senderId] = departure + transmission;
+        lastSent[link] = departure + transmission;
+
+        var appendedArrival = Math.max(departure + transmission + lastLatency[link], lastArrival[link]);
+        lastArrival[link] = appendedArrival;
+        return appendedArrival;
+    }
+
+    @Override
+    public double getQueueingDelay() {
+        return queueingDelay;
+    }
+}
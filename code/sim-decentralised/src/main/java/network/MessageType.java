@@ -0,0 +1,9 @@
+package network;
+
+public enum MessageType {
+    PREPARE,
+
+    PREPARE_ACK,
+
+    COMMIT,
+}
@@ -0,0 +1,156 @@
+package network;
+
+import event.CommitReceivedEvent;
+import event.EventType;
+import event.PrepareAckReceivedEvent;
+import event.PrepareReceivedEvent;
+import state.DependencySet;
+import utils.Config;
+import utils.EventList;
+import utils.Rand;
+
+import java.util.Objects;
+
+/**
+ * Sends the commit protocol messages through the configured network model and counts them. With a piggyback window
+ * every message opens a batch on its link that is held for the window, and any message, of any type or epoch, sent on
+ * the link while the batch is held rides in it. A rider's bytes are charged to the link through the model after the
+ * batch's, so it arrives once they have been sent.
+ */
+public class Network {
+    private static final Network instance = new Network();
+
+    // message sizes: a fixed header and a node id and epoch per dependency
+    static final int HEADER_BYTES = 32;
+    static final int DEPENDENCY_BYTES = 8;
+
+    // type and epoch of a message riding in another's batch, which shares its header
+    static final int PIGGYBACK_BYTES = 8;
+
+    private final NetworkModel model;
+    private final int clusterSize;
+    private final double piggybackWindow;
+
+    // batch held on each link, sender * clusterSize + receiver, the time it is sent and the time it arrives
+    private final double[] batchUntil;
+    private final double[] batchArrival;
+
+    private final long[] messages;
+    private long wireMessages;
+    private long bytes;
+
+    private Network() {
+        var config = Config.getInstance();
+        this.clusterSize = config.getClusterSize();
+        this.model = createModel(config.getNetworkModel(), Rand.getInstance(), clusterSize, config.getBandwidth());
+        this.piggybackWindow = config.getPiggybackWindowInSecs();
+        this.batchUntil = piggybackWindow > 0 ? new double[clusterSize * clusterSize] : null;
+        this.batchArrival = piggybackWindow > 0 ? new double[clusterSize * clusterSize] : null;
+        this.messages = new long[MessageType.values().length];
+    }
+
+    public static Network getInstance() {
+        return instance;
+    }
+
+    static NetworkModel createModel(String model, Rand rand, int clusterSize, double bandwidth) {
+        if (Objects.equals(model, "legacy")) {
+            return new LegacyNetworkModel(rand);
+        } else if (Objects.equals(model, "link")) {
+            return new LinkQueueNetworkModel(rand, clusterSize, bandwidth);
+        } else {
+            throw new IllegalArgumentException("Invalid network model: " + model);
+        }
+    }
+
+    // returns the time the prepare arrives
+    public double sendPrepare(EventList eventList, double sendTime, int senderId, int receiverId, int senderEpoch, DependencySet dependencies) {
+        var prepareReceivedEvent = new PrepareReceivedEvent(
+                send(MessageType.PREPARE, senderId, receiverId, sendTime, dependencies.size() * DEPENDENCY_BYTES),
+                EventType.PREPARE_RECEIVED,
+                senderId,
+                receiverId,
+                senderEpoch,
+                dependencies);
+        eventList.addEvent(prepareReceivedEvent);
+        return prepareReceivedEvent.getEventTime();
+    }
+
+    // returns the time the ack arrives
+    public double sendPrepareAck(EventList eventList, double sendTime, int senderId, int leaderId, DependencySet dependencies) {
+        var prepareAckReceivedEvent = new PrepareAckReceivedEvent(
+                send(MessageType.PREPARE_ACK, senderId, leaderId, sendTime, dependencies.size() * DEPENDENCY_BYTES),
+                EventType.PREPARE_ACK_RECEIVED,
+                senderId,
+                leaderId,
+                dependencies);
+        eventList.addEvent(prepareAckReceivedEvent);
+        return prepareAckReceivedEvent.getEventTime();
+    }
+
+    // returns the time the commit arrives
+    public double sendCommit(EventList eventList, double sendTime, int senderId, int receiverId, int epoch) {
+        var commitReceivedEvent = new CommitReceivedEvent(
+                send(MessageType.COMMIT, senderId, receiverId, sendTime, 0),
+                EventType.COMMIT_RECEIVED,
+                senderId,
+                receiverId,
+                epoch);
+        eventList.addEvent(commitReceivedEvent);
+        return commitReceivedEvent.getEventTime();
+    }
+
+    // returns the time a message with the given payload arrives, either in a batch held on the link or on its own
+    private double send(MessageType type, int senderId, int receiverId, double sendTime, int payload) {
+        messages[type.ordinal()]++;
+        var link = senderId * clusterSize + receiverId;
+        if (piggybackWindow > 0) {
+            if (sendTime < batchUntil[link]) {
+                bytes += PIGGYBACK_BYTES + payload;
+                batchArrival[link] = model.append(senderId, receiverId, batchArrival[link], PIGGYBACK_BYTES + payload);
+                return batchArrival[link];
+            }
+            sendTime += piggybackWindow;
+        }
+
+        var size = HEADER_BYTES + payload;
+        wireMessages++;
+        bytes += size;
+        var arrival = model.deliveryTime(senderId, receiverId, sendTime, size);
+        if (piggybackWindow > 0) {
+            batchUntil[link] = sendTime;
+            batchArrival[link] = arrival;
+        }
+        return arrival;
+    }
+
+    public long getMessages(MessageType type) {
+        return messages[type.ordinal()];
+    }
+
+    public long getMessages() {
+        var total = 0L;
+        for (var count : messages) {
+            total += count;
+        }
+        return total;
+    }
+
+    // messages sent on the network, batches count once
+    public long getWireMessages() {
+        return wireMessages;
+    }
+
+    // messages that rode in another message's batch
+    public long getPiggybacked() {
+        return getMessages() - wireMessages;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public double getQueueingDelay() {
+        return model.getQueueingDelay();
+    }
+}
@@ -0,0 +1,16 @@
+package network;
+
+/**
+ * How long a message takes from sender to receiver. Models may keep per-link state, so deliveryTime or append must be
+ * called once per message, in send order.
+ */
+public interface NetworkModel {
+    // time at which a message of the given size sent at sendTime arrives at the receiver
+    double deliveryTime(int senderId, int receiverId, double sendTime, int bytes);
+
+    // time at which bytes appended to the last message on the link, which arrives at arrival, arrive at the receiver
+    double append(int senderId, int receiverId, double arrival, int bytes);
+
+    // total time messages have spent queued behind earlier messages before being sent
+    double getQueueingDelay();
+}
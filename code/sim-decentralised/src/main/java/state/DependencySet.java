@@ -0,0 +1,176 @@
+package state;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of (nodeId, epoch) dependencies, at most one epoch per node. Nodes are held as a bitset with the
+ * node ids and their epochs alongside in node id order, so a set can be shared by reference between a node and every
+ * message that carries it. Adding to a set returns a new one and leaves the original untouched.
+ */
+public final class DependencySet {
+    public static final DependencySet EMPTY = new DependencySet(new long[0], new int[0], new int[0]);
+
+    private final long[] bits;
+    private final int[] nodeIds;
+    private final int[] epochs;
+
+    private DependencySet(long[] bits, int[] nodeIds, int[] epochs) {
+        this.bits = bits;
+        this.nodeIds = nodeIds;
+        this.epochs = epochs;
+    }
+
+    public int size() {
+        return nodeIds.length;
+    }
+
+    public boolean isEmpty() {
+        return nodeIds.length == 0;
+    }
+
+    // i-th dependency in node id order
+    public int nodeId(int i) {
+        return nodeIds[i];
+    }
+
+    public int epoch(int i) {
+        return epochs[i];
+    }
+
+    public boolean contains(int nodeId) {
+        var word = nodeId >>> 6;
+        return word < bits.length && (bits[word] & (1L << nodeId)) != 0;
+    }
+
+    public boolean contains(int nodeId, int epoch) {
+        return contains(nodeId) && epochs[Arrays.binarySearch(nodeIds, nodeId)] == epoch;
+    }
+
+    // epoch of the dependency on a node
+    public int epochOf(int nodeId) {
+        if (!contains(nodeId)) {
+            throw new IllegalArgumentException("No dependency on node " + nodeId);
+        }
+        return epochs[Arrays.binarySearch(nodeIds, nodeId)];
+    }
+
+    // bit words, shared, callers must not modify them
+    long[] bits() {
+        return bits;
+    }
+
+    public DependencySet with(int nodeId, int epoch) {
+        if (contains(nodeId)) {
+            if (epochOf(nodeId) != epoch) {
+                throw new IllegalStateException("Dependencies do not match ");
+            }
+            return this;
+        }
+        var newBits = Arrays.copyOf(bits, Math.max(bits.length, (nodeId >>> 6) + 1));
+        newBits[nodeId >>> 6] |= 1L << nodeId;
+
+        var at = -(Arrays.binarySearch(nodeIds, nodeId) + 1);
+        var newNodeIds = new int[nodeIds.length + 1];
+        var newEpochs = new int[epochs.length + 1];
+        System.arraycopy(nodeIds, 0, newNodeIds, 0, at);
+        System.arraycopy(epochs, 0, newEpochs, 0, at);
+        newNodeIds[at] = nodeId;
+        newEpochs[at] = epoch;
+        System.arraycopy(nodeIds, at, newNodeIds, at + 1, nodeIds.length - at);
+        System.arraycopy(epochs, at, newEpochs, at + 1, epochs.length - at);
+        return new DependencySet(newBits, newNodeIds, newEpochs);
+    }
+
+    // this set plus the dependencies of other that are not on node excluded, the nodes are merged with a bitwise or
+    public DependencySet union(DependencySet other, int excluded) {
+        var words = Math.max(bits.length, other.bits.length);
+        var newBits = Arrays.copyOf(bits, words);
+        var added = false;
+        for (int w = 0; w < other.bits.length; w++) {
+            var word = other.bits[w];
+            if (w == excluded >>> 6) {
+                word &= ~(1L << excluded);
+            }
+            added |= (word & ~newBits[w]) != 0;
+            newBits[w] |= word;
+        }
+        // dependencies on nodes already in this set must agree on the epoch
+        for (int i = 0; i < other.nodeIds.length; i++) {
+            var nodeId = other.nodeIds[i];
+            if (nodeId != excluded && contains(nodeId) && epochOf(nodeId) != other.epochs[i]) {
+                throw new IllegalStateException("Dependencies do not match ");
+            }
+        }
+        if (!added) {
+            return this;
+        }
+
+        var size = 0;
+        for (var word : newBits) {
+            size += Long.bitCount(word);
+        }
+        var newNodeIds = new int[size];
+        var newEpochs = new int[size];
+        int i = 0, j = 0, k = 0;
+        while (i < nodeIds.length || j < other.nodeIds.length) {
+            if (j < other.nodeIds.length && other.nodeIds[j] == excluded) {
+                j++;
+            } else if (j == other.nodeIds.length || (i < nodeIds.length && nodeIds[i] <= other.nodeIds[j])) {
+                if (j < other.nodeIds.length && nodeIds[i] == other.nodeIds[j]) {
+                    j++;
+                }
+                newNodeIds[k] = nodeIds[i];
+                newEpochs[k++] = epochs[i++];
+            } else {
+                newNodeIds[k] = other.nodeIds[j];
+                newEpochs[k++] = other.epochs[j++];
+            }
+        }
+        return new DependencySet(newBits, newNodeIds, newEpochs);
+    }
+
+    // true if other has a dependency, other than on node excluded, that is not in this set
+    public boolean isMissingAny(DependencySet other, int excluded) {
+        for (int w = 0; w < other.bits.length; w++) {
+            var word = other.bits[w];
+            if (w == excluded >>> 6) {
+                word &= ~(1L << excluded);
+            }
+            if (w >= bits.length ? word != 0 : (word & ~bits[w]) != 0) {
+                return true;
+            }
+        }
+        for (int i = 0; i < other.nodeIds.length; i++) {
+            var nodeId = other.nodeIds[i];
+            if (nodeId != excluded && epochOf(nodeId) != other.epochs[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DependencySet that = (DependencySet) o;
+        return Arrays.equals(nodeIds, that.nodeIds) && Arrays.equals(epochs, that.epochs);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(nodeIds) + Arrays.hashCode(epochs);
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder("[");
+        for (int i = 0; i < nodeIds.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append("{nodeId=").append(nodeIds[i]).append(", epoch=").append(epochs[i]).append('}');
+        }
+        return sb.append(']').toString();
+    }
+}
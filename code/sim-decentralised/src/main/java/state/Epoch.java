@@ -1,19 +1,20 @@
 package state;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.Arrays;
 
 public class Epoch {
     private int completedTransactions;
     private int leader;
-    private final Map<Integer, Dependency> dependencies;
+    private DependencySet dependencies;
+
+    // nodes that have acked this epoch's prepare, by node id bit
+    private long[] acks;
 
 
     public Epoch(int leader) {
         this.leader = leader;
-        this.dependencies = new HashMap<>();
+        this.dependencies = DependencySet.EMPTY;
+        this.acks = new long[0];
     }
 
     public void incCompletedTransactions() {
@@ -33,23 +34,42 @@ public class Epoch {
     }
 
     public void addDependency(int depId, int depEpoch) {
-        if (dependencies.containsKey(depId)) {
-            var dependency = dependencies.get(depId);
-            if (depEpoch != dependency.epoch()) {
-                throw new IllegalStateException("Dependencies do not match ");
-            }
+        dependencies = dependencies.with(depId, depEpoch);
+    }
+
+    // every dependency of other except those on node excluded
+    public void addDependencies(DependencySet other, int excluded) {
+        dependencies = dependencies.union(other, excluded);
+    }
 
-        } else {
-            dependencies.put(depId, new Dependency(depId, depEpoch));
+    // immutable, safe to share with messages
+    public DependencySet getDependencies() {
+        return dependencies;
+    }
+
+    public void setAckReceived(int depId) {
+        if (!dependencies.contains(depId)) {
+            throw new IllegalStateException("Ack from node " + depId + " which is not a dependency");
+        }
+        if (depId >>> 6 >= acks.length) {
+            acks = Arrays.copyOf(acks, (depId >>> 6) + 1);
         }
+        acks[depId >>> 6] |= 1L << depId;
     }
 
-    public Dependency getDependency(int depId) {
-        return dependencies.get(depId);
+    public boolean isAckReceived(int depId) {
+        return depId >>> 6 < acks.length && (acks[depId >>> 6] & (1L << depId)) != 0;
     }
 
-    public Set<Dependency> getDependencies() {
-        return new HashSet<>(dependencies.values());
+    public boolean receivedAllAcks() {
+        var bits = dependencies.bits();
+        for (int w = 0; w < bits.length; w++) {
+            var acked = w < acks.length ? acks[w] : 0L;
+            if ((bits[w] & ~acked) != 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -1,25 +1,37 @@
 package state;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 public class Node {
+    // epochs kept per node, the current one and the most recent retired ones
+    public static final int EPOCH_WINDOW = 4;
+
     private final int id;
 
     private State state;
 
     private int currentEpoch;
 
-    private final List<Epoch> epochs;
+    private final Deque<Epoch> epochs;
+
+    // completed transactions of the epochs that have left the window
+    private long retiredCompletedTransactions;
+
+    // time the node stopped executing the current epoch to commit it
+    private double commitStartTime;
+
+    private long commits;
+
+    private double commitLatency;
 
     public Node(int id) {
         this.id = id;
         this.state = State.EXECUTING;
         this.currentEpoch = 0;
-        this.epochs = new ArrayList<>();
-        epochs.add(new Epoch(id));
+        this.epochs = new ArrayDeque<>(EPOCH_WINDOW);
+        this.retiredCompletedTransactions = 0;
+        epochs.addLast(new Epoch(id));
     }
 
     public enum State {
@@ -49,7 +61,15 @@ public class Node {
     }
 
     public void incCompletedTransactions() {
-        epochs.get(currentEpoch).incCompletedTransactions();
+        epochs.getLast().incCompletedTransactions();
+    }
+
+    public long getCompletedTransactions() {
+        var completed = retiredCompletedTransactions;
+        for (var epoch : epochs) {
+            completed += epoch.getCompletedTransactions();
+        }
+        return completed;
     }
 
     public void addDependency(int depId, int depEpoch) {
@@ -57,11 +77,16 @@ public class Node {
         if (depId == id) {
             throw new IllegalStateException("Can not have self-dependency");
         }
-        epochs.get(currentEpoch).addDependency(depId, depEpoch);
+        epochs.getLast().addDependency(depId, depEpoch);
+    }
+
+    public DependencySet getDependencies() {
+        return epochs.getLast().getDependencies();
     }
 
-    public Set<Dependency> getDependencies() {
-        return epochs.get(currentEpoch).getDependencies();
+    // every dependency in dependencies except those on this node
+    public void addDependencies(DependencySet dependencies) {
+        epochs.getLast().addDependencies(dependencies, id);
     }
 
     public int getCurrentEpoch() {
@@ -69,41 +94,51 @@ public class Node {
     }
 
     public int getCurrentLeader() {
-        return epochs.get(currentEpoch).getLeader();
+        return epochs.getLast().getLeader();
     }
 
     public void setCurrentLeader(int newLeader) {
-        epochs.get(currentEpoch).setLeader(newLeader);
+        epochs.getLast().setLeader(newLeader);
     }
 
-    public List<Epoch> getEpochs() {
+    // the most recent epochs, oldest first
+    public Deque<Epoch> getEpochs() {
         return epochs;
     }
 
-    public void nextEpoch() {
-        this.currentEpoch += 1;
-        this.epochs.add(currentEpoch, new Epoch(id));
+    public void startCommit(double time) {
+        this.commitStartTime = time;
     }
 
-    public boolean isMissingDependencies(Set<Dependency> dependencies) {
-        var withoutSelf = dependencies.stream().filter(dependency -> dependency.nodeId() != id).collect(Collectors.toSet());
+    public long getCommits() {
+        return commits;
+    }
 
-        withoutSelf.removeAll(epochs.get(currentEpoch).getDependencies());
+    // total time from leaving EXECUTING to starting the next epoch, over all commits
+    public double getCommitLatency() {
+        return commitLatency;
+    }
 
-        return !withoutSelf.isEmpty();
+    public void nextEpoch(double time) {
+        this.commits += 1;
+        this.commitLatency += time - commitStartTime;
+        this.currentEpoch += 1;
+        if (epochs.size() == EPOCH_WINDOW) {
+            retiredCompletedTransactions += epochs.removeFirst().getCompletedTransactions();
+        }
+        this.epochs.addLast(new Epoch(id));
+    }
+
+    public boolean isMissingDependencies(DependencySet dependencies) {
+        return epochs.getLast().getDependencies().isMissingAny(dependencies, id);
     }
 
     public void updateAcks(int senderId) {
-        epochs.get(currentEpoch).getDependency(senderId).setAckReceived();
+        epochs.getLast().setAckReceived(senderId);
     }
 
     public boolean receivedAllAcks() {
-        for (var dependency : getDependencies()) {
-            if (!dependency.isAckReceived()) {
-                return false;
-            }
-        }
-        return true;
+        return epochs.getLast().receivedAllAcks();
     }
 
     @Override
@@ -112,7 +147,7 @@ public class Node {
                 "id=" + id +
                 ", state=" + state +
                 ", epoch=" + currentEpoch +
-                ", " + epochs.get(currentEpoch) +
+                ", " + epochs.getLast() +
                 '}';
     }
 }
@@ -12,6 +12,11 @@ public class Config {
     private static double propDistributedTransactions;
     private static final long seedValue = 0;
     private static boolean fixSeed = true;
+    private static String eventListImpl = "heap";
+    private static String networkModel = "legacy";
+    private static double bandwidth;
+    private static String latencyDistribution = "exponential";
+    private static double piggybackWindow;
 
     private Config() {
 
@@ -106,6 +111,51 @@ public class Config {
         Config.propDistributedTransactions = propDistributedTransactions;
     }
 
+    public String getEventListImpl() {
+        return eventListImpl;
+    }
+
+    public void setEventListImpl(String eventListImpl) {
+        Config.eventListImpl = eventListImpl;
+    }
+
+    public String getNetworkModel() {
+        return networkModel;
+    }
+
+    public void setNetworkModel(String networkModel) {
+        Config.networkModel = networkModel;
+    }
+
+    // Mbit/s, 0 for unlimited
+    public double getBandwidth() {
+        return bandwidth;
+    }
+
+    public void setBandwidth(double bandwidth) {
+        Config.bandwidth = bandwidth;
+    }
+
+    public String getLatencyDistribution() {
+        return latencyDistribution;
+    }
+
+    public void setLatencyDistribution(String latencyDistribution) {
+        Config.latencyDistribution = latencyDistribution;
+    }
+
+    public double getPiggybackWindowInMillis() {
+        return piggybackWindow;
+    }
+
+    public double getPiggybackWindowInSecs() {
+        return piggybackWindow / 1000.0;
+    }
+
+    public void setPiggybackWindow(double piggybackWindow) {
+        Config.piggybackWindow = piggybackWindow;
+    }
+
     @Override
     public String toString() {
         return "\n" +
@@ -116,6 +166,11 @@ public class Config {
                 "    average long transaction service rate (ms): " + getLongTransactionServiceRateInMillis() + "\n" +
                 "    long transactions proportion (%): " + getPropLongTransactions() * 100 + "\n" +
                 "    distributed transactions proportion (%): " + getPropDistributedTransactions() * 100 + "\n" +
-                "    set seed: " + fixSeed;
+                "    set seed: " + fixSeed + "\n" +
+                "    event list: " + eventListImpl + "\n" +
+                "    network model: " + networkModel + "\n" +
+                "    bandwidth (Mbit/s): " + bandwidth + "\n" +
+                "    latency distribution: " + latencyDistribution + "\n" +
+                "    piggyback window (ms): " + piggybackWindow;
     }
 }
@@ -1,5 +1,7 @@
 package utils;
 
+import network.MessageType;
+import network.Network;
 import org.apache.log4j.Logger;
 import state.Cluster;
 
@@ -16,13 +18,10 @@ public class Metrics {
     }
 
     public long getCompletedJobs() {
-        var bucket = 0;
+        var bucket = 0L;
         var nodes = Cluster.getInstance().getNodes();
         for (var node : nodes) {
-            var epochs = node.getEpochs();
-            for (var epoch : epochs) {
-                bucket += epoch.getCompletedTransactions();
-            }
+            bucket += node.getCompletedTransactions();
         }
         return bucket;
     }
@@ -35,10 +34,39 @@ public class Metrics {
         return (double) getCompletedJobs() / getCumulativeLatency();
     }
 
+    public long getCommits() {
+        var commits = 0L;
+        for (var node : Cluster.getInstance().getNodes()) {
+            commits += node.getCommits();
+        }
+        return commits;
+    }
+
+    // mean time a node spends committing an epoch, from leaving EXECUTING to starting the next epoch
+    public double getMeanCommitLatency() {
+        var latency = 0.0;
+        for (var node : Cluster.getInstance().getNodes()) {
+            latency += node.getCommitLatency();
+        }
+        return latency / getCommits();
+    }
+
+    public double getMeanQueueingDelay() {
+        var network = Network.getInstance();
+        return network.getQueueingDelay() / network.getWireMessages();
+    }
+
     public void getSummary() {
         LOGGER.info("\nResults: ");
         LOGGER.info("  completed transactions: " +  getCompletedJobs());
         LOGGER.info("  cumulative latency: " + getCumulativeLatency());
         LOGGER.info(String.format("  completed txn/s: %.2f ", getCompletedJobsPerSec()));
+        var network = Network.getInstance();
+        LOGGER.info(String.format("  mean commit latency (ms): %.4f", getMeanCommitLatency() * 1000.0));
+        LOGGER.info(String.format("  messages: %s (prepare %s, ack %s, commit %s)",
+                network.getMessages(), network.getMessages(MessageType.PREPARE), network.getMessages(MessageType.PREPARE_ACK),
+                network.getMessages(MessageType.COMMIT)));
+        LOGGER.info(String.format("  wire messages: %s, piggybacked: %s", network.getWireMessages(), network.getPiggybacked()));
+        LOGGER.info(String.format("  sent (MB): %.2f, mean queueing delay (ms): %.4f", network.getBytes() / 1e6, getMeanQueueingDelay() * 1000.0));
     }
 }
@@ -1,6 +1,9 @@
 package utils;
 
+import org.apache.commons.math3.distribution.ConstantRealDistribution;
 import org.apache.commons.math3.distribution.ExponentialDistribution;
+import org.apache.commons.math3.distribution.RealDistribution;
+import org.apache.commons.math3.distribution.UniformRealDistribution;
 
 import java.util.Random;
 
@@ -10,6 +13,7 @@ public class Rand {
     private final ExponentialDistribution shortTransactionServiceRateDistribution;
     private final ExponentialDistribution longTransactionServiceRateDistribution;
     private final ExponentialDistribution networkDelayDistribution;
+    private final RealDistribution linkLatencyDistribution;
     private final Random longTransactionDistribution;
     private final Random distributedTransactionDistribution;
     private final Random remoteParticipantDistribution;
@@ -39,6 +43,7 @@ public class Rand {
 
         double networkDelayRate = config.getNetworkDelayRateInSecs();
         this.networkDelayDistribution = new ExponentialDistribution(networkDelayRate);
+        this.linkLatencyDistribution = createLatencyDistribution(config.getLatencyDistribution(), networkDelayDistribution);
 
         this.longTransactionDistribution = new Random();
         this.remoteParticipantDistribution = new Random();
@@ -52,6 +57,9 @@ public class Rand {
             shortTransactionServiceRateDistribution.reseedRandomGenerator(seedValue);
             longTransactionServiceRateDistribution.reseedRandomGenerator(seedValue);
             networkDelayDistribution.reseedRandomGenerator(seedValue);
+            if (linkLatencyDistribution != networkDelayDistribution) {
+                linkLatencyDistribution.reseedRandomGenerator(seedValue);
+            }
             longTransactionDistribution.setSeed(seedValue);
             remoteParticipantDistribution.setSeed(seedValue);
             distributedTransactionDistribution.setSeed(seedValue);
@@ -75,6 +83,21 @@ public class Rand {
         return networkDelayDistribution.sample();
     }
 
+    // latency of a link in the link queue network model, with the same mean as the network delay
+    public double generateLinkLatency() {
+        return linkLatencyDistribution.sample();
+    }
+
+    private static RealDistribution createLatencyDistribution(String distribution, ExponentialDistribution networkDelayDistribution) {
+        var mean = networkDelayDistribution.getMean();
+        return switch (distribution) {
+            case "exponential" -> networkDelayDistribution;
+            case "constant" -> new ConstantRealDistribution(mean);
+            case "uniform" -> new UniformRealDistribution(0, 2 * mean);
+            default -> throw new IllegalArgumentException("Invalid latency distribution: " + distribution);
+        };
+    }
+
     public boolean isLongTransaction() {
         var sample = longTransactionDistribution.nextDouble();
 
@@ -1,5 +1,7 @@
 package utils;
 
+import network.Network;
+
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
@@ -10,8 +12,9 @@ public class WriteOutResults {
     public static void writeOutResults(Config config, Metrics metrics, double realTime, double simulationTime) {
 
         String[] headers = {"cluster", "epochTimeout", "networkDelay", "shortTransactionServiceRate",
-                "longTransactionServiceRate", "propLongTransactions", "propDistributedTransactions", "throughput",
-                "realTime", "simTime"};
+                "longTransactionServiceRate", "propLongTransactions", "propDistributedTransactions", "networkModel",
+                "bandwidth", "latencyDistribution", "piggybackWindow", "throughput", "commitLatency",
+                "messages", "wireMessages", "queueingDelay", "realTime", "simTime"};
 
         StringBuilder headerStringBuilder = new StringBuilder();
         for (String header : headers) {
@@ -31,13 +34,22 @@ public class WriteOutResults {
         var longTransactionServiceRate = config.getLongTransactionServiceRateInMillis();
         var propLongTransactions = config.getPropLongTransactions() * 100;
         var propDistributedTransactions = config.getPropDistributedTransactions() * 100;
+        var networkModel = config.getNetworkModel();
+        var bandwidth = config.getBandwidth();
+        var latencyDistribution = config.getLatencyDistribution();
+        var piggybackWindow = config.getPiggybackWindowInMillis();
 
-        String params = String.format("%s,%s,%s,%s,%s,%s,%s", cluster, epochTimeout, networkDelay,
-                shortTransactionServiceRate, longTransactionServiceRate, propLongTransactions, propDistributedTransactions);
+        String params = String.format("%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s", cluster, epochTimeout, networkDelay,
+                shortTransactionServiceRate, longTransactionServiceRate, propLongTransactions, propDistributedTransactions,
+                networkModel, bandwidth, latencyDistribution, piggybackWindow);
 
         // main metrics
         var completedJobPs = metrics.getCompletedJobsPerSec();
-        String main = String.format("%.4f", completedJobPs);
+        var commitLatency = metrics.getMeanCommitLatency() * 1000.0;
+        var network = Network.getInstance();
+        var queueingDelay = metrics.getMeanQueueingDelay() * 1000.0;
+        String main = String.format("%.4f,%.4f,%s,%s,%.6f", completedJobPs, commitLatency, network.getMessages(),
+                network.getWireMessages(), queueingDelay);
 
         BufferedWriter outputStream = null;
         FileWriter fileWriter;
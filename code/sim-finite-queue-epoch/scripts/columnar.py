@@ -0,0 +1,108 @@
+#!/usr/bin/env python3
+
+# reader for the results.col and series.col files written with --output columnar (format in utils/ColumnarFile.java)
+# usage: read_columnar("results.col") returns a pandas data frame if pandas is installed and a dict of columns if not,
+#        python3 columnar.py <file> prints the file as csv
+
+import struct
+import sys
+import zlib
+from array import array
+
+MAGIC = b"SIMCOL01"
+
+
+def _utf(data, pos):
+    (length,) = struct.unpack_from(">H", data, pos)
+    pos += 2
+    return data[pos:pos + length].decode("utf-8"), pos + length
+
+
+def _numbers(typecode, payload):
+    values = array(typecode)
+    values.frombytes(payload)
+    if sys.byteorder == "little":
+        values.byteswap()
+    return values.tolist()
+
+
+def _strings(payload, rows):
+    values, pos = [], 0
+    for _ in range(rows):
+        (length,) = struct.unpack_from(">i", payload, pos)
+        pos += 4
+        values.append(payload[pos:pos + length].decode("utf-8"))
+        pos += length
+    return values
+
+
+def _attribute(value):
+    for convert in (int, float):
+        try:
+            return convert(value)
+        except ValueError:
+            pass
+    return {"true": True, "false": False}.get(value, value)
+
+
+def read_blocks(path):
+    with open(path, "rb") as f:
+        data = f.read()
+    if data[:len(MAGIC)] != MAGIC:
+        raise ValueError(path + " is not a columnar results file")
+    pos = len(MAGIC)
+    while pos < len(data):
+        (rows, attributes) = struct.unpack_from(">iH", data, pos)
+        pos += 6
+        block = {}
+        for _ in range(attributes):
+            name, pos = _utf(data, pos)
+            value, pos = _utf(data, pos)
+            block[name] = [_attribute(value)] * rows
+        (columns,) = struct.unpack_from(">H", data, pos)
+        pos += 2
+        for _ in range(columns):
+            name, pos = _utf(data, pos)
+            (kind, codec, length) = struct.unpack_from(">cBi", data, pos)
+            pos += 6
+            payload = data[pos:pos + length]
+            pos += length
+            if codec == 1:
+                payload = zlib.decompress(payload)
+            if kind == b"D":
+                block[name] = _numbers("d", payload)
+            elif kind == b"L":
+                block[name] = _numbers("q", payload)
+            else:
+                block[name] = _strings(payload, rows)
+        # per-epoch series keep every sampling-th epoch
+        if "sampling" in block and rows > 0:
+            block["epoch"] = [i * block["sampling"][0] for i in range(rows)]
+        yield block
+
+
+def read_columnar(path):
+    columns = {}
+    for block in read_blocks(path):
+        rows = len(next(iter(block.values()), []))
+        filled = len(next(iter(columns.values()), []))
+        for name in block:
+            if name not in columns:
+                columns[name] = [None] * filled
+        for name, values in columns.items():
+            values.extend(block.get(name, [None] * rows))
+    try:
+        import pandas
+        return pandas.DataFrame(columns)
+    except ImportError:
+        return columns
+
+
+if __name__ == "__main__":
+    table = read_columnar(sys.argv[1])
+    if not isinstance(table, dict):
+        table = table.to_dict("list")
+    names = list(table)
+    print(",".join(names))
+    for row in zip(*(table[name] for name in names)):
+        print(",".join("" if value is None else str(value) for value in row))
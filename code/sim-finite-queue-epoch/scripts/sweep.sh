@@ -0,0 +1,14 @@
+#!/bin/bash
+
+# runs the coordinator.sh parameter points (both protocols, a=10..100) in a single JVM, results go to results.csv
+# usage: ./sweep.sh <time> [fixed] [replications]
+
+if [ "$2" == "fixed" ]
+then
+    FIXED="true"
+else
+    FIXED="false"
+fi
+
+java -cp ../target/sim-finite-queue-epoch-1.0-SNAPSHOT.jar Main -n 64 -b 1.7 -c 1.7 -mu 1 -xi 657000 -eta 1800000 -m 5 -lam 40 -af true -d "$1" -fe "$FIXED" \
+    -r "${3:-1}" -sw "p=single,multi;a=10:100:10"
@@ -4,6 +4,7 @@ import action.ReadyToCommitAction;
 import action.RepairAction;
 import event.AbortOperationEvent;
 import event.ArrivalEvent;
+import event.EventPool;
 import event.ReadyToCommitEvent;
 import event.RepairEvent;
 import picocli.CommandLine;
@@ -26,16 +27,30 @@ import utils.Clock;
 import org.apache.log4j.Logger;
 import utils.Config;
 import utils.EventList;
+import utils.EventTrace;
 import utils.Metrics;
 import utils.Rand;
+import utils.ResultsSink;
+import utils.SimulationContext;
+import utils.Statistics;
+import utils.SweepSpec;
 import utils.WriteOutArrivals;
+import utils.WriteOutLatency;
 import utils.WriteOutPerEpochRespTime;
 import utils.WriteOutQueue;
 import utils.WriteOutResults;
+import utils.WriteOutSeries;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 public class Main implements Callable<Integer>
 {
@@ -86,26 +101,88 @@ public class Main implements Callable<Integer>
     @Option( names = {"-sv", "--seed value"}, description = "Fix seed value" )
     private long seedValue = 0;
 
+    @Option( names = {"-el", "--eventListImpl"}, description = "Event list implementation (heap, calendar or sort)" )
+    private String eventListImpl = "heap";
+
+    @Option( names = {"-rng", "--randomGenerator"}, description = "Random number generator (well or splittable)" )
+    private String randomGenerator = "well";
+
+    @Option( names = {"-crn", "--commonRandomNumbers"}, description = "Give every job its own random stream so runs with the same seed see the same workload (needs -rng splittable)" )
+    private String commonRandomNumbers = "false";
+
+    @Option( names = {"-av", "--antithetic"}, description = "Run the replications in antithetic pairs (needs -rng splittable and an even number of replications)" )
+    private String antithetic = "false";
+
+    @Option( names = {"-tp", "--targetPrecision"}, description = "Stop once the completed jobs/s and response time batch means half-widths are within this fraction of their estimates (0 runs for the full duration)" )
+    private double targetPrecision = 0;
+
+    @Option( names = {"-pe", "--precisionEpochs"}, description = "Epochs between checks of the target precision" )
+    private int precisionEpochs = 16;
+
+    @Option( names = {"-wu", "--warmUp"}, description = "Detect the warm-up period with MSER-5 and delete it from the estimates" )
+    private String warmUp = "false";
+
+    @Option( names = {"-ss", "--seriesSampling"}, description = "Keep every k-th epoch of the per-epoch queue, response time and arrivals series" )
+    private int seriesSampling = 1;
+
+    @Option( names = {"-o", "--output"}, description = "Results and per-epoch series output: csv, columnar (results.col and series.col) or both, latency.csv is always written" )
+    private String output = "csv";
+
+    @Option( names = {"-oc", "--compress"}, description = "Compress the columns of the columnar output" )
+    private String compress = "true";
+
+    @Option( names = {"-tr", "--trace"}, description = "Write a binary trace of every event to <name>.<segment>.trc (<name>-<point>-<replication> for several runs), decode with utils.TraceReader" )
+    private String trace = null;
+
+    @Option( names = {"-ts", "--traceSegments"}, description = "Trace segments of 2^20 events kept in the ring, older events are overwritten" )
+    private int traceSegments = 8;
+
+    @Option( names = {"-r", "--replications"}, description = "Number of independent replications (seeds seed value + 0..r-1)" )
+    private int replications = 1;
+
+    @Option( names = {"-t", "--threads"}, description = "Threads used to run replications" )
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    @Option( names = {"-sw", "--sweep"}, description = "Parameter sweep over a, p, m, xi and lam, e.g. \"p=single,multi;a=10:100:10\"" )
+    private String sweep = null;
+
+    // everything queued for the output files is written before returning and the sink's writer thread stopped, so an
+    // embedding caller (e.g. the benchmarks, which load each run in its own class loader) is not left with it
     @Override
     public Integer call()
     {
+        try
+        {
+            return simulate();
+        }
+        finally
+        {
+            ResultsSink.getInstance().close();
+        }
+    }
+
+    private Integer simulate()
+    {
+        if ( Boolean.parseBoolean( antithetic ) && replications % 2 != 0 )
+        {
+            LOGGER.error( "Antithetic replications run in pairs, the number of replications must be even" );
+            return 1;
+        }
+
+        if ( !List.of( "csv", "columnar", "both" ).contains( output ) )
+        {
+            LOGGER.error( "Unknown output " + output + ", expected csv, columnar or both" );
+            return 1;
+        }
+
+        if ( replications > 1 || sweep != null )
+        {
+            return runPoints();
+        }
 
         // config
         var config = Config.getInstance();
-        config.setClusterSize( cluster );
-        config.setEpochTimeout( a );
-        config.setCommitOperationRate( commitOperationRate );
-        config.setAbortOperationRate( abortOperationRate );
-        config.setTransactionServiceRate( transactionServiceRate );
-        config.setFailureRate( xi );
-        config.setRepairRate( eta );
-        config.setFixSeed( Boolean.parseBoolean( fixSeed ) );
-        config.setSeedValue( seedValue );
-        config.setAlgorithm( algorithm );
-        config.setPropDistributedTransactions( (double) distTxn / 100.0 );
-        config.setAffinity( Boolean.parseBoolean( affinity ) );
-        config.setArrivalRate( 1 / lambda );
-        config.setFixedEpochTimeout( Boolean.parseBoolean( fixedEpochTimeout ) );
+        configure( config, seedValue );
 
         // global variables
         var rand = Rand.getInstance();
@@ -113,22 +190,7 @@ public class Main implements Callable<Integer>
         var metrics = Metrics.getInstance();
         var queue = ArrivalQueue.getInstance();
 
-        // coordinator node initialisation event
-        var initEventTime = rand.generateNextEpochTimeout();
-        var epochEvent = new EpochTimeoutEvent( initEventTime, EventType.EPOCH_TIMEOUT, 0 );
-        eventList.addEvent( epochEvent );
-
-        // initial arrival event
-        var initArrivalTime = rand.generateNextArrivalTime();
-        var arrivalEvent = new ArrivalEvent( initArrivalTime, EventType.TRANSACTION_ARRIVAL );
-        eventList.addEvent( arrivalEvent );
-
-        // initial failure event
-        var failedNodeId = rand.generateNodeId();
-        var firstFailureTime = rand.generateNextFailure();
-        firstFailureTime = 10;
-        var failureEvent = new FailureEvent( firstFailureTime, EventType.FAILURE, failedNodeId );
-        eventList.addEvent( failureEvent );
+        scheduleInitialEvents( rand, eventList );
 
         // run simulation
         DateTimeFormatter dtf = DateTimeFormatter.ofPattern( "yyyy/MM/dd HH:mm:ss" );
@@ -145,20 +207,252 @@ public class Main implements Callable<Integer>
         metrics.getSummary();
         var realTime = (end - start) / 1000.0;
         LOGGER.info( "Real time (secs): " + String.format( "%.5f", realTime ) );
+        LOGGER.info( "Stale events cancelled: " + eventList.getCancelledEvents() );
+        LOGGER.info( "Events allocated: " + EventPool.getInstance().getAllocatedEvents() + ", reused: " + EventPool.getInstance().getReusedEvents() );
         LOGGER.info( "Simulation completed!" );
         LOGGER.info( "--------------------" );
         LOGGER.info( "" );
 
-        WriteOutResults.writeOutResults( config, metrics, realTime, timeLimit );
-        WriteOutQueue.writeOutQueue( config, metrics );
-        WriteOutPerEpochRespTime.writeOutPerEpochRespTime( config, metrics );
-        WriteOutArrivals.writeOutArrivals( config, metrics );
+        writeOut( config, List.of( metrics ), realTime, timeLimit );
 
         assert (metrics.getFailureEvents() == (metrics.getTotallyFailedEpochs() + metrics.getPartialFailedEpochs()));
 
         return 0;
     }
 
+    // runs every replication of every sweep point in its own simulation context on a work-stealing pool, one results
+    // row is written per point, in sweep order, once its replications have completed
+    private Integer runPoints()
+    {
+        // common random numbers pair the replications of each point by seed, so every point needs the same seeds, and
+        // both runs of an antithetic pair need the same seed
+        var crn = Boolean.parseBoolean( commonRandomNumbers );
+        if ( (crn || Boolean.parseBoolean( antithetic )) && !Boolean.parseBoolean( fixSeed ) )
+        {
+            fixSeed = "true";
+            seedValue = new Random().nextLong( 0, Integer.MAX_VALUE );
+        }
+
+        var config = Config.getInstance();
+        configure( config, seedValue );
+
+        List<SweepSpec.Point> points;
+        try
+        {
+            points = sweep == null ? SweepSpec.none() : SweepSpec.parse( sweep );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            LOGGER.error( e.getMessage() );
+            return 1;
+        }
+
+        DateTimeFormatter dtf = DateTimeFormatter.ofPattern( "yyyy/MM/dd HH:mm:ss" );
+        LocalDateTime now = LocalDateTime.now();
+
+        LOGGER.info( "--------------------" );
+        LOGGER.info( String.format( "Starting %s point(s) x %s replication(s) on %s threads at %s", points.size(), replications, threads, dtf.format( now ) ) );
+        LOGGER.info( "Simulation time (secs): " + String.format( "%.5f", timeLimit ) );
+        LOGGER.info( "Configuration: " + config );
+        var start = System.currentTimeMillis();
+
+        var pool = new ForkJoinPool( Math.max( 1, threads ) );
+        List<List<ForkJoinTask<Metrics>>> runs = new ArrayList<>();
+        // wall time of each point, from the start of its first replication to the end of its last
+        var firstStarts = new AtomicLongArray( points.size() );
+        var lastEnds = new AtomicLongArray( points.size() );
+        for ( int p = 0; p < points.size(); p++ )
+        {
+            var point = points.get( p );
+            var pointIndex = p;
+            firstStarts.set( p, Long.MAX_VALUE );
+            List<ForkJoinTask<Metrics>> pointRuns = new ArrayList<>();
+            for ( int r = 0; r < replications; r++ )
+            {
+                var replication = r;
+                pointRuns.add( pool.submit( () -> {
+                    firstStarts.accumulateAndGet( pointIndex, System.currentTimeMillis(), Math::min );
+                    var metrics = runReplication( point, pointIndex, replication );
+                    lastEnds.accumulateAndGet( pointIndex, System.currentTimeMillis(), Math::max );
+                    return metrics;
+                } ) );
+            }
+            runs.add( pointRuns );
+        }
+
+        try
+        {
+            double[] baseCompletedJobPs = null;
+            for ( int p = 0; p < points.size(); p++ )
+            {
+                List<Metrics> results = new ArrayList<>();
+                for ( var run : runs.get( p ) )
+                {
+                    results.add( run.get() );
+                }
+
+                var point = points.get( p );
+                point.apply( config );
+                var completedJobPs = results.stream().mapToDouble( Metrics::getCompletedJobsPerSec ).toArray();
+                var avRespTime = results.stream().mapToDouble( Metrics::getAverageResponseTime ).toArray();
+                LOGGER.info( String.format( "Point %s: complete jobs/ms %.5f +/- %.5f, average response time (ms) %.5f +/- %.5f", point,
+                        Statistics.mean( completedJobPs ) / 1000.0, halfWidth( completedJobPs ) / 1000.0,
+                        Statistics.mean( avRespTime ) * 1000, halfWidth( avRespTime ) * 1000 ) );
+
+                // replications with the same seed saw the same workload, compare each point with the first pairwise
+                if ( crn && baseCompletedJobPs == null )
+                {
+                    baseCompletedJobPs = completedJobPs;
+                }
+                else if ( crn )
+                {
+                    var difference = new double[completedJobPs.length];
+                    for ( int r = 0; r < difference.length; r++ )
+                    {
+                        difference[r] = completedJobPs[r] - baseCompletedJobPs[r];
+                    }
+                    LOGGER.info( String.format( "Point %s - %s: complete jobs/ms %.5f +/- %.5f (paired)", point, points.get( 0 ),
+                            Statistics.mean( difference ) / 1000.0, halfWidth( difference ) / 1000.0 ) );
+                }
+
+                writeOut( config, results, (lastEnds.get( p ) - firstStarts.get( p )) / 1000.0, timeLimit );
+            }
+        }
+        catch ( InterruptedException | ExecutionException e )
+        {
+            LOGGER.error( "Replication failed", e );
+            return 1;
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+
+        var end = System.currentTimeMillis();
+        LOGGER.info( "Real time (secs): " + String.format( "%.5f", (end - start) / 1000.0 ) );
+        LOGGER.info( "Simulation completed!" );
+        LOGGER.info( "--------------------" );
+        LOGGER.info( "" );
+
+        return 0;
+    }
+
+    private Metrics runReplication( SweepSpec.Point point, int pointIndex, int replication )
+    {
+        SimulationContext.reset();
+        try
+        {
+            var config = Config.getInstance();
+            if ( Boolean.parseBoolean( antithetic ) )
+            {
+                // replications 2i and 2i + 1 are an antithetic pair
+                configure( config, seedValue + replication / 2 );
+                config.setComplementary( replication % 2 == 1 );
+            }
+            else
+            {
+                configure( config, seedValue + replication );
+            }
+            point.apply( config );
+            if ( trace != null )
+            {
+                config.setTrace( trace + "-" + pointIndex + "-" + replication );
+            }
+
+            var rand = Rand.getInstance();
+            var eventList = EventList.getInstance();
+            scheduleInitialEvents( rand, eventList );
+            runSimulation( timeLimit, config, rand, eventList, ArrivalQueue.getInstance() );
+
+            var metrics = Metrics.getInstance();
+            LOGGER.info( String.format( "Replication %s of %s (seed %s): complete jobs/ms %.5f", replication, point, config.getSeedValue(),
+                    metrics.getCompletedJobsPerSec() / 1000.0 ) );
+            return metrics;
+        }
+        finally
+        {
+            SimulationContext.clear();
+        }
+    }
+
+    private double halfWidth( double[] values )
+    {
+        return Statistics.halfWidth( Boolean.parseBoolean( antithetic ) ? Statistics.pairMeans( values ) : values );
+    }
+
+    // results row, latency rows and per-epoch series of each replication
+    private static void writeOut( Config config, List<Metrics> results, double realTime, double simulationTime )
+    {
+        WriteOutResults.writeOutResults( config, results, realTime, simulationTime );
+        WriteOutLatency.writeOutLatency( config, results );
+        for ( int r = 0; r < results.size(); r++ )
+        {
+            var metrics = results.get( r );
+            if ( config.isCsvOutput() )
+            {
+                WriteOutQueue.writeOutQueue( config, metrics );
+                WriteOutPerEpochRespTime.writeOutPerEpochRespTime( config, metrics );
+                WriteOutArrivals.writeOutArrivals( config, metrics );
+            }
+            if ( config.isColumnarOutput() )
+            {
+                WriteOutSeries.writeOutSeries( config, metrics, r );
+            }
+            // the series are streamed out by the sink's writer thread
+            ResultsSink.getInstance().after( metrics::discardSeries );
+        }
+    }
+
+    private void configure( Config config, long seed )
+    {
+        config.setClusterSize( cluster );
+        config.setEpochTimeout( a );
+        config.setCommitOperationRate( commitOperationRate );
+        config.setAbortOperationRate( abortOperationRate );
+        config.setTransactionServiceRate( transactionServiceRate );
+        config.setFailureRate( xi );
+        config.setRepairRate( eta );
+        config.setFixSeed( Boolean.parseBoolean( fixSeed ) );
+        config.setSeedValue( seed );
+        config.setAlgorithm( algorithm );
+        config.setPropDistributedTransactions( (double) distTxn / 100.0 );
+        config.setAffinity( Boolean.parseBoolean( affinity ) );
+        config.setArrivalRate( 1 / lambda );
+        config.setFixedEpochTimeout( Boolean.parseBoolean( fixedEpochTimeout ) );
+        config.setEventListImpl( eventListImpl );
+        config.setRandomGenerator( randomGenerator );
+        config.setCommonRandomNumbers( Boolean.parseBoolean( commonRandomNumbers ) );
+        config.setAntithetic( Boolean.parseBoolean( antithetic ) );
+        config.setTargetPrecision( targetPrecision );
+        config.setPrecisionEpochs( precisionEpochs );
+        config.setWarmUpDetection( Boolean.parseBoolean( warmUp ) );
+        config.setSeriesSampling( seriesSampling );
+        config.setOutput( output );
+        config.setCompressOutput( Boolean.parseBoolean( compress ) );
+        config.setTrace( trace );
+        config.setTraceSegments( traceSegments );
+    }
+
+    private static void scheduleInitialEvents( Rand rand, EventList eventList )
+    {
+        // coordinator node initialisation event
+        var initEventTime = rand.generateNextEpochTimeout();
+        var epochEvent = EventPool.getInstance().getEpochTimeoutEvent( initEventTime, EventType.EPOCH_TIMEOUT, 0 );
+        eventList.addEvent( epochEvent );
+
+        // initial arrival event
+        var initArrivalTime = rand.generateNextArrivalTime();
+        var arrivalEvent = EventPool.getInstance().getArrivalEvent( initArrivalTime, EventType.TRANSACTION_ARRIVAL );
+        eventList.addEvent( arrivalEvent );
+
+        // initial failure event
+        var failedNodeId = rand.generateNodeId();
+        var firstFailureTime = rand.generateNextFailure();
+        firstFailureTime = 10;
+        var failureEvent = EventPool.getInstance().getFailureEvent( firstFailureTime, EventType.FAILURE, failedNodeId );
+        eventList.addEvent( failureEvent );
+    }
+
     public static void main( String[] args )
     {
         int exitCode = new CommandLine( new Main() ).execute( args );
@@ -170,6 +464,11 @@ public class Main implements Callable<Integer>
         var cluster = Cluster.getInstance();
         var clock = Clock.getInstance();
         var metrics = Metrics.getInstance();
+        var eventPool = EventPool.getInstance();
+
+        var targetPrecision = config.getTargetPrecision();
+        var nextPrecisionCheck = config.getPrecisionEpochs();
+        var trace = config.getTrace() == null ? null : new EventTrace( config.getTrace(), config.getTraceSegments() );
 
         while ( clock.getClock() < timeLimit )
         {
@@ -177,6 +476,10 @@ public class Main implements Callable<Integer>
             clock.setClock( nextEvent.getEventTime() );
 
             var eventType = nextEvent.getEventType();
+            if ( trace != null )
+            {
+                trace.record( nextEvent, cluster.getCurrentEpoch(), cluster.getCurrentEpochState() );
+            }
 
             switch ( eventType )
             {
@@ -191,6 +494,32 @@ public class Main implements Callable<Integer>
             case REPAIR -> RepairAction.repair( (RepairEvent) nextEvent, cluster, metrics, rand, eventList, queue );
             case READY_TO_COMMIT -> ReadyToCommitAction.ready( (ReadyToCommitEvent) nextEvent, cluster, config, eventList, rand );
             }
+
+            // the event is no longer referenced once dispatched
+            eventPool.release( nextEvent );
+
+            // sequential stopping, checked every few epochs once the batch means have at least 32 batches of 2 epochs
+            // after any warm-up
+            if ( targetPrecision > 0 && cluster.getCurrentEpoch() >= nextPrecisionCheck )
+            {
+                nextPrecisionCheck = cluster.getCurrentEpoch() + config.getPrecisionEpochs();
+                if ( metrics.isWarmedUp() && metrics.getCompletedJobsPerSecBatches().getBatchSize() > 1
+                     && metrics.getRelativePrecision() <= targetPrecision )
+                {
+                    LOGGER.info( String.format( "Target precision %s reached at %.5f secs (epoch %s): %.5f", targetPrecision, clock.getClock(),
+                            cluster.getCurrentEpoch(), metrics.getRelativePrecision() ) );
+                    break;
+                }
+            }
+        }
+        metrics.setStopTime( clock.getClock() );
+        if ( trace != null )
+        {
+            trace.close();
+        }
+        if ( !metrics.isWarmedUp() )
+        {
+            LOGGER.warn( "Warm-up not over by the end of the run, the estimates include it" );
         }
     }
 }
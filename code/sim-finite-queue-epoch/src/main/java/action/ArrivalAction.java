@@ -20,6 +20,7 @@ public class ArrivalAction
     {
         var thisEventTime = event.getEventTime();
         var job = new Job( thisEventTime );
+        rand.assignRandomStream( job );
 
         Metrics.getInstance().incArrivals();
 
@@ -45,7 +46,7 @@ public class ArrivalAction
                     System.out.println( "Job from queue should not be null" );
                     System.exit( 1 );
                 }
-                Common.generateTransactionCompletionEvent( rand, eventList, idleNodeId, thisEventTime, cluster.getCurrentEpoch() );
+                Common.generateTransactionCompletionEvent( rand, eventList, idleNodeId, job, thisEventTime, cluster.getCurrentEpoch() );
             }
         }
         // else cluster is waiting/aborting/committing, add to queue
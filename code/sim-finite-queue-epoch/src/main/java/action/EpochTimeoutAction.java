@@ -2,8 +2,8 @@ package action;
 
 import event.EpochTimeoutEvent;
 
+import event.EventPool;
 import event.EventType;
-import event.ReadyToCommitEvent;
 import org.apache.log4j.Logger;
 import state.ArrivalQueue;
 import state.Cluster;
@@ -70,7 +70,7 @@ public class EpochTimeoutAction
             // if all operational nodes are commit then generate a commit completed operation event
             if ( cluster.areAllOperationalNodesReadyToCommit( config ) )
             {
-                eventList.addEvent( new ReadyToCommitEvent( thisEventTime, EventType.READY_TO_COMMIT, currentEpoch ) );
+                eventList.addEvent( EventPool.getInstance().getReadyToCommitEvent( thisEventTime, EventType.READY_TO_COMMIT, currentEpoch ) );
             }
         }
     }
@@ -1,7 +1,7 @@
 package action;
 
+import event.EventPool;
 import event.EventType;
-import event.FailureEvent;
 import event.RepairEvent;
 import org.apache.log4j.Logger;
 import state.ArrivalQueue;
@@ -28,7 +28,7 @@ public class RepairAction
         {
             // Cannot fail and repair in the same epoch
             var repairEventTime = thisEventTime + rand.generateRepairTime();
-            eventList.addEvent( new RepairEvent( repairEventTime, EventType.REPAIR, thisNodeId, originEpoch ) );
+            eventList.addEvent( EventPool.getInstance().getRepairEvent( repairEventTime, EventType.REPAIR, thisNodeId, originEpoch ) );
         }
         else
         {
@@ -70,6 +70,6 @@ public class RepairAction
 
     private static void generateFailureEvent( Rand rand, EventList eventList, int thisNodeId, double thisEventTime )
     {
-        eventList.addEvent( new FailureEvent( thisEventTime + rand.generateNextFailure(), EventType.FAILURE, thisNodeId ) );
+        eventList.addEvent( EventPool.getInstance().getFailureEvent( thisEventTime + rand.generateNextFailure(), EventType.FAILURE, thisNodeId ) );
     }
 }
@@ -1,7 +1,7 @@
 package action;
 
+import event.EventPool;
 import event.EventType;
-import event.ReadyToCommitEvent;
 import event.TransactionEvent;
 import org.apache.log4j.Logger;
 import state.ArrivalQueue;
@@ -45,10 +45,11 @@ public class TransactionAction
             // happy path
             case OPERATIONAL -> {
                 // if this job was distributed then
-                if ( rand.isDistributedTransaction() )
+                var job = cluster.getCurrentJob( thisNodeId );
+                if ( rand.isDistributedTransaction( job ) )
                 {
                     var affinity = config.isAffinity();
-                    var dependencyNodeId = rand.generateDependency( thisNodeId, affinity );
+                    var dependencyNodeId = rand.generateDependency( job, thisNodeId, affinity );
                     var dependencyNodeState = cluster.getNodeState( dependencyNodeId );
                     switch ( dependencyNodeState )
                     {
@@ -132,7 +133,7 @@ public class TransactionAction
                 // if all operational nodes are commit then generate a commit completed operation event
                 if ( cluster.areAllOperationalNodesReadyToCommit( config ) )
                 {
-                    eventList.addEvent( new ReadyToCommitEvent( thisEventTime, EventType.READY_TO_COMMIT, currentEpoch ) );
+                    eventList.addEvent( EventPool.getInstance().getReadyToCommitEvent( thisEventTime, EventType.READY_TO_COMMIT, currentEpoch ) );
                 }
             }
         }
@@ -5,8 +5,9 @@ import java.util.Objects;
 public abstract class AbstractEvent implements Event, Comparable<AbstractEvent>
 {
 
-    private final double eventTime;           // event time
-    private final EventType eventTypeEnum;        // event type
+    private double eventTime;           // event time
+    private EventType eventTypeEnum;        // event type
+    private boolean pooled;                 // event has been released to the event pool
 
     AbstractEvent( double eventTime, EventType eventTypeEnum )
     {
@@ -14,6 +15,22 @@ public abstract class AbstractEvent implements Event, Comparable<AbstractEvent>
         this.eventTypeEnum = eventTypeEnum;
     }
 
+    void reset( double eventTime, EventType eventTypeEnum )
+    {
+        this.eventTime = eventTime;
+        this.eventTypeEnum = eventTypeEnum;
+    }
+
+    boolean isPooled()
+    {
+        return pooled;
+    }
+
+    void setPooled( boolean pooled )
+    {
+        this.pooled = pooled;
+    }
+
     @Override
     public double getEventTime()
     {
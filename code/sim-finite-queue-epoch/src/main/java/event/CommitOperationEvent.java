@@ -1,8 +1,8 @@
 package event;
 
-public class CommitOperationEvent extends AbstractEvent
+public class CommitOperationEvent extends AbstractEvent implements EpochEvent
 {
-    private final int epoch;
+    private int epoch;
 
     public CommitOperationEvent( double eventTime, EventType eventTypeEnum, int epoch )
     {
@@ -10,6 +10,13 @@ public class CommitOperationEvent extends AbstractEvent
         this.epoch = epoch;
     }
 
+    void reset( double eventTime, EventType eventTypeEnum, int epoch )
+    {
+        reset( eventTime, eventTypeEnum );
+        this.epoch = epoch;
+    }
+
+    @Override
     public int getEpoch()
     {
         return epoch;
@@ -3,7 +3,7 @@ package event;
 public class EpochTimeoutEvent extends AbstractEvent
 {
 
-    private final int epoch;
+    private int epoch;
 
     public EpochTimeoutEvent( double eventTime, EventType eventTypeEnum, int epoch )
     {
@@ -11,6 +11,12 @@ public class EpochTimeoutEvent extends AbstractEvent
         this.epoch = epoch;
     }
 
+    void reset( double eventTime, EventType eventTypeEnum, int epoch )
+    {
+        reset( eventTime, eventTypeEnum );
+        this.epoch = epoch;
+    }
+
     public int getEpoch()
     {
         return epoch;
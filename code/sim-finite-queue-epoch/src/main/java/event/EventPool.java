@@ -0,0 +1,196 @@
+package event;
+
+import utils.SimulationContext;
+
+import java.util.ArrayDeque;
+
+// recycles event objects to avoid allocating an event per transaction, events are released back to the pool by the
+// run loop once dispatched (or by the event list when cancelled) and must not be referenced afterwards
+public class EventPool
+{
+    private static final SimulationContext.Key<EventPool> instance = SimulationContext.key( EventPool::new );
+
+    private final ArrayDeque<ArrivalEvent> arrivalEvents;
+    private final ArrayDeque<TransactionEvent> transactionEvents;
+    private final ArrayDeque<EpochTimeoutEvent> epochTimeoutEvents;
+    private final ArrayDeque<ReadyToCommitEvent> readyToCommitEvents;
+    private final ArrayDeque<CommitOperationEvent> commitOperationEvents;
+    private final ArrayDeque<AbortOperationEvent> abortOperationEvents;
+    private final ArrayDeque<FailureEvent> failureEvents;
+    private final ArrayDeque<RepairEvent> repairEvents;
+
+    private long allocatedEvents;
+    private long reusedEvents;
+
+    private EventPool()
+    {
+        this.arrivalEvents = new ArrayDeque<>();
+        this.transactionEvents = new ArrayDeque<>();
+        this.epochTimeoutEvents = new ArrayDeque<>();
+        this.readyToCommitEvents = new ArrayDeque<>();
+        this.commitOperationEvents = new ArrayDeque<>();
+        this.abortOperationEvents = new ArrayDeque<>();
+        this.failureEvents = new ArrayDeque<>();
+        this.repairEvents = new ArrayDeque<>();
+        this.allocatedEvents = 0;
+        this.reusedEvents = 0;
+    }
+
+    public static EventPool getInstance()
+    {
+        return SimulationContext.current().get( instance );
+    }
+
+    public ArrivalEvent getArrivalEvent( double eventTime, EventType eventTypeEnum )
+    {
+        var event = take( arrivalEvents );
+        if ( event == null )
+        {
+            return new ArrivalEvent( eventTime, eventTypeEnum );
+        }
+        event.reset( eventTime, eventTypeEnum );
+        return event;
+    }
+
+    public TransactionEvent getTransactionEvent( double eventTime, EventType eventTypeEnum, int nodeId, int epoch )
+    {
+        var event = take( transactionEvents );
+        if ( event == null )
+        {
+            return new TransactionEvent( eventTime, eventTypeEnum, nodeId, epoch );
+        }
+        event.reset( eventTime, eventTypeEnum, nodeId, epoch );
+        return event;
+    }
+
+    public EpochTimeoutEvent getEpochTimeoutEvent( double eventTime, EventType eventTypeEnum, int epoch )
+    {
+        var event = take( epochTimeoutEvents );
+        if ( event == null )
+        {
+            return new EpochTimeoutEvent( eventTime, eventTypeEnum, epoch );
+        }
+        event.reset( eventTime, eventTypeEnum, epoch );
+        return event;
+    }
+
+    public ReadyToCommitEvent getReadyToCommitEvent( double eventTime, EventType eventTypeEnum, int epoch )
+    {
+        var event = take( readyToCommitEvents );
+        if ( event == null )
+        {
+            return new ReadyToCommitEvent( eventTime, eventTypeEnum, epoch );
+        }
+        event.reset( eventTime, eventTypeEnum, epoch );
+        return event;
+    }
+
+    public CommitOperationEvent getCommitOperationEvent( double eventTime, EventType eventTypeEnum, int epoch )
+    {
+        var event = take( commitOperationEvents );
+        if ( event == null )
+        {
+            return new CommitOperationEvent( eventTime, eventTypeEnum, epoch );
+        }
+        event.reset( eventTime, eventTypeEnum, epoch );
+        return event;
+    }
+
+    public AbortOperationEvent getAbortOperationEvent( double eventTime, EventType eventTypeEnum, int epoch )
+    {
+        var event = take( abortOperationEvents );
+        if ( event == null )
+        {
+            return new AbortOperationEvent( eventTime, eventTypeEnum, epoch );
+        }
+        event.reset( eventTime, eventTypeEnum, epoch );
+        return event;
+    }
+
+    public FailureEvent getFailureEvent( double eventTime, EventType eventTypeEnum, int nodeId )
+    {
+        var event = take( failureEvents );
+        if ( event == null )
+        {
+            return new FailureEvent( eventTime, eventTypeEnum, nodeId );
+        }
+        event.reset( eventTime, eventTypeEnum, nodeId );
+        return event;
+    }
+
+    public RepairEvent getRepairEvent( double eventTime, EventType eventTypeEnum, int nodeId, int originEpoch )
+    {
+        var event = take( repairEvents );
+        if ( event == null )
+        {
+            return new RepairEvent( eventTime, eventTypeEnum, nodeId, originEpoch );
+        }
+        event.reset( eventTime, eventTypeEnum, nodeId, originEpoch );
+        return event;
+    }
+
+    public void release( AbstractEvent event )
+    {
+        if ( event.isPooled() )
+        {
+            throw new IllegalStateException( "Event released twice: " + event.getEventType() );
+        }
+        event.setPooled( true );
+
+        if ( event instanceof TransactionEvent transactionEvent )
+        {
+            transactionEvents.push( transactionEvent );
+        }
+        else if ( event instanceof ArrivalEvent arrivalEvent )
+        {
+            arrivalEvents.push( arrivalEvent );
+        }
+        else if ( event instanceof EpochTimeoutEvent epochTimeoutEvent )
+        {
+            epochTimeoutEvents.push( epochTimeoutEvent );
+        }
+        else if ( event instanceof ReadyToCommitEvent readyToCommitEvent )
+        {
+            readyToCommitEvents.push( readyToCommitEvent );
+        }
+        else if ( event instanceof CommitOperationEvent commitOperationEvent )
+        {
+            commitOperationEvents.push( commitOperationEvent );
+        }
+        else if ( event instanceof AbortOperationEvent abortOperationEvent )
+        {
+            abortOperationEvents.push( abortOperationEvent );
+        }
+        else if ( event instanceof FailureEvent failureEvent )
+        {
+            failureEvents.push( failureEvent );
+        }
+        else if ( event instanceof RepairEvent repairEvent )
+        {
+            repairEvents.push( repairEvent );
+        }
+    }
+
+    public long getAllocatedEvents()
+    {
+        return allocatedEvents;
+    }
+
+    public long getReusedEvents()
+    {
+        return reusedEvents;
+    }
+
+    private <T extends AbstractEvent> T take( ArrayDeque<T> pool )
+    {
+        var event = pool.poll();
+        if ( event == null )
+        {
+            allocatedEvents += 1;
+            return null;
+        }
+        reusedEvents += 1;
+        event.setPooled( false );
+        return event;
+    }
+}
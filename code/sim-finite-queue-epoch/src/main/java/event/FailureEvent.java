@@ -4,7 +4,7 @@ import java.util.Objects;
 
 public class FailureEvent extends AbstractEvent
 {
-    private final int participantNodeId;
+    private int participantNodeId;
 
     public FailureEvent( double eventTime, EventType eventTypeEnum, int participantNodeId )
     {
@@ -12,6 +12,12 @@ public class FailureEvent extends AbstractEvent
         this.participantNodeId = participantNodeId;
     }
 
+    void reset( double eventTime, EventType eventTypeEnum, int participantNodeId )
+    {
+        reset( eventTime, eventTypeEnum );
+        this.participantNodeId = participantNodeId;
+    }
+
     public int getNodeId()
     {
         return participantNodeId;
@@ -2,7 +2,7 @@ package event;
 
 public class ReadyToCommitEvent extends AbstractEvent
 {
-    private final int epoch;
+    private int epoch;
 
     public ReadyToCommitEvent( double eventTime, EventType eventTypeEnum, int epoch )
     {
@@ -10,6 +10,12 @@ public class ReadyToCommitEvent extends AbstractEvent
         this.epoch = epoch;
     }
 
+    void reset( double eventTime, EventType eventTypeEnum, int epoch )
+    {
+        reset( eventTime, eventTypeEnum );
+        this.epoch = epoch;
+    }
+
     public int getEpoch()
     {
         return epoch;
@@ -4,8 +4,8 @@ import java.util.Objects;
 
 public class RepairEvent extends AbstractEvent
 {
-    private final int nodeId;
-    private final int originEpoch;
+    private int nodeId;
+    private int originEpoch;
 
     public RepairEvent( double eventTime, EventType eventTypeEnum, int nodeId, int originEpoch )
     {
@@ -14,6 +14,13 @@ public class RepairEvent extends AbstractEvent
         this.originEpoch = originEpoch;
     }
 
+    void reset( double eventTime, EventType eventTypeEnum, int nodeId, int originEpoch )
+    {
+        reset( eventTime, eventTypeEnum );
+        this.nodeId = nodeId;
+        this.originEpoch = originEpoch;
+    }
+
     public int getNodeId()
     {
         return nodeId;
@@ -1,9 +1,9 @@
 package event;
 
-public class TransactionEvent extends AbstractEvent
+public class TransactionEvent extends AbstractEvent implements EpochEvent
 {
-    private final int nodeId;
-    private final int epoch;
+    private int nodeId;
+    private int epoch;
 
     public TransactionEvent( double eventTime, EventType eventTypeEnum, int nodeId, int epoch )
     {
@@ -12,11 +12,19 @@ public class TransactionEvent extends AbstractEvent
         this.epoch = epoch;
     }
 
+    void reset( double eventTime, EventType eventTypeEnum, int nodeId, int epoch )
+    {
+        reset( eventTime, eventTypeEnum );
+        this.nodeId = nodeId;
+        this.epoch = epoch;
+    }
+
     public int getNodeId()
     {
         return nodeId;
     }
 
+    @Override
     public int getEpoch()
     {
         return epoch;
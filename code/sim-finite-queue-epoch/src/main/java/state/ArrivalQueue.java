@@ -1,5 +1,7 @@
 package state;
 
+import utils.SimulationContext;
+
 import java.util.LinkedList;
 import java.util.List;
 
@@ -7,7 +9,7 @@ public class ArrivalQueue
 {
     private final LinkedList<Job> arrivals;
 
-    private static final ArrivalQueue instance = new ArrivalQueue();
+    private static final SimulationContext.Key<ArrivalQueue> instance = SimulationContext.key( ArrivalQueue::new );
 
     private ArrivalQueue()
     {
@@ -16,7 +18,7 @@ public class ArrivalQueue
 
     public static ArrivalQueue getInstance()
     {
-        return instance;
+        return SimulationContext.current().get( instance );
     }
 
     public void addJob( Job arrival )
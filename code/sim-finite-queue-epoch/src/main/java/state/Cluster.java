@@ -1,20 +1,22 @@
 package state;
 
 import org.apache.log4j.Logger;
-import org.jgrapht.Graph;
-import org.jgrapht.alg.connectivity.BiconnectivityInspector;
-import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.graph.SimpleGraph;
 import utils.Config;
+import utils.EventList;
 import utils.Metrics;
+import utils.SimulationContext;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 public class Cluster
 {
@@ -49,21 +51,27 @@ public class Cluster
 
     private final static Logger LOGGER = Logger.getLogger( Cluster.class.getName() );
 
-    private static final Cluster instance = new Cluster();
+    private static final NodeState[] NODE_STATES = NodeState.values();
+
+    private static final SimulationContext.Key<Cluster> instance = SimulationContext.key( Cluster::new );
 
     private double start;
     private Integer currentEpoch;
     private EpochState currentEpochState;
-    private final List<Integer> completedJobs;
-    private final List<Integer> lostJobs;
-    private final List<NodeState> nodeStates;
+    private final int[] completedJobs;
+    private final int[] lostJobs;
+    private int totalCompletedJobs;
+    private int totalLostJobs;
+    private final byte[] nodeStates; // node state ordinals
+    private final int[] nodeStateCounts; // number of nodes in each state
+    private final BitSet idleNodes;
     private final List<EpochSummary> history;
     private Set<Failure> nodeFailureSet;
     private final Set<Integer> nodeRepairSet;
-    private Graph<Integer,DefaultEdge> dependencyGraph;
+    private final DisjointSets dependencySets;
     private Map<Integer,CommitGroup> commitGroupMap;
     private boolean clusterDown;
-    private final List<Job> currentJob;
+    private final Job[] currentJob;
     private final List<List<Job>> completedJobStack;
 
     private Cluster()
@@ -72,43 +80,45 @@ public class Cluster
         this.currentEpoch = 0;
         this.currentEpochState = EpochState.PROCESSING;
         var clusterSize = Config.getInstance().getClusterSize();
-        this.completedJobs = new ArrayList<>();
-        this.lostJobs = new ArrayList<>();
-        this.nodeStates = new ArrayList<>();
+        this.completedJobs = new int[clusterSize];
+        this.lostJobs = new int[clusterSize];
+        this.totalCompletedJobs = 0;
+        this.totalLostJobs = 0;
+        this.nodeStates = new byte[clusterSize];
+        this.nodeStateCounts = new int[NODE_STATES.length];
+        this.idleNodes = new BitSet( clusterSize );
         this.nodeFailureSet = new HashSet<>();
         this.nodeRepairSet = new HashSet<>();
-        dependencyGraph = new SimpleGraph<>( DefaultEdge.class );
+        this.dependencySets = new DisjointSets( clusterSize );
         this.commitGroupMap = new HashMap<>();
         this.clusterDown = false;
-        this.currentJob = new ArrayList<>();
+        this.currentJob = new Job[clusterSize];
         this.completedJobStack = new ArrayList<>();
 
         for ( int i = 0; i < clusterSize; i++ )
         {
-            dependencyGraph.addVertex( i );
-            completedJobs.add( 0 );
-            lostJobs.add( 0 );
-            nodeStates.add( NodeState.IDLE );
-            currentJob.add( null );
+            nodeStates[i] = (byte) NodeState.IDLE.ordinal();
             completedJobStack.add( new ArrayList<>() );
         }
+        nodeStateCounts[NodeState.IDLE.ordinal()] = clusterSize;
+        idleNodes.set( 0, clusterSize );
 
         this.history = new ArrayList<>();
     }
 
     public static Cluster getInstance()
     {
-        return instance;
+        return SimulationContext.current().get( instance );
     }
 
     public void setCurrentJob( int nodeId, Job job )
     {
-        currentJob.set( nodeId, job );
+        currentJob[nodeId] = job;
     }
 
     public Job getCurrentJob( int nodeId )
     {
-        return currentJob.get( nodeId );
+        return currentJob[nodeId];
     }
 
     public void addToCompletedJobStack( Job job, int nodeId )
@@ -118,20 +128,13 @@ public class Cluster
 
     public boolean hasInFlightJob( int id )
     {
-        return currentJob.get( id ) != null && getNodeState( id ) == NodeState.OPERATIONAL;
+        return currentJob[id] != null && getNodeState( id ) == NodeState.OPERATIONAL;
     }
 
+    // lowest idle node id or -1
     public int getIdleNodeId()
     {
-        for ( int i = 0; i < currentJob.size(); i++ )
-        {
-            if ( getNodeState( i ) == NodeState.IDLE )
-            {
-                return i;
-            }
-        }
-
-        return -1;
+        return idleNodes.nextSetBit( 0 );
     }
 
     public boolean isClusterDown()
@@ -161,10 +164,7 @@ public class Cluster
 
     public void addDependency( int nodeA, int nodeB )
     {
-        if ( !this.dependencyGraph.containsEdge( nodeA, nodeB ) )
-        {
-            this.dependencyGraph.addEdge( nodeA, nodeB );
-        }
+        dependencySets.union( nodeA, nodeB );
     }
 
     public EpochState getCurrentEpochState()
@@ -179,15 +179,8 @@ public class Cluster
 
     public boolean areAllOperationalNodesReadyToCommit( Config config )
     {
-        for ( int i = 0; i < config.getClusterSize(); i++ )
-        {
-            if ( getNodeState( i ) == NodeState.OPERATIONAL )
-            {
-                return false; // one node is not ready yet
-            }
-        }
-
-        return true;
+        assert nodeStateCountsMatchScan();
+        return nodeStateCounts[NodeState.OPERATIONAL.ordinal()] == 0;
     }
 
     public List<Job> getCompletedJobStack( int nodeId )
@@ -241,6 +234,7 @@ public class Cluster
             {
                 completedJob.setDepartureTime( end );
                 metrics.incCumulativeResponseTime( completedJob.responseTime() );
+                metrics.recordResponseTime( completedJob.responseTime(), completedJob.getRetries() );
                 perEpochCumRespTime += completedJob.responseTime();
             }
         }
@@ -248,16 +242,16 @@ public class Cluster
         // record cumulative latency
         var duration = end - this.start;
         metrics.incCumulativeLatency( duration );
+        metrics.recordEpochLatency( duration );
         this.start = end;
 
-        // compute job totals
-        var totalLostJobs = lostJobs.stream().mapToInt( a -> a ).sum();
+        // job totals
         metrics.incLostJobs( totalLostJobs );
 //        metrics.incFailedEpochLostJobs( totalLostJobs ); // multi only
-        var totalCompletedJobs = completedJobs.stream().mapToInt( a -> a ).sum();
         metrics.incCompletedTransactions( totalCompletedJobs );
 
         metrics.addPerEpochAvRespTime( perEpochCumRespTime / totalCompletedJobs );
+        metrics.addEpochToBatches( totalCompletedJobs, duration, perEpochCumRespTime );
     }
 
     public void totalFailure( Config config, Metrics metrics, double endEventTime, ArrivalQueue queue )
@@ -287,21 +281,20 @@ public class Cluster
             queue.addJobs( jobsToRetry );
         }
 
-        // compute job totals
-        var totalLostJobs = lostJobs.stream().mapToInt( a -> a ).sum();
-        var totalCompletedJobs = completedJobs.stream().mapToInt( a -> a ).sum();
-        totalLostJobs = totalLostJobs + totalCompletedJobs;
-        metrics.incFailedEpochLostJobs( totalLostJobs );
-        metrics.incLostJobs( totalLostJobs );
+        // job totals
+        var totalLost = totalLostJobs + totalCompletedJobs;
+        metrics.incFailedEpochLostJobs( totalLost );
+        metrics.incLostJobs( totalLost );
+        metrics.addEpochToBatches( 0, duration, 0.0 );
 
-        System.out.println( "Lost jobs: " + totalLostJobs );
+        System.out.println( "Lost jobs: " + totalLost );
 
 //        metrics.addPerEpochAvRespTime( 0 );
     }
 
     public long getNumberOfOperationalNodes()
     {
-        return nodeStates.stream().filter( state -> state != NodeState.CRASHED ).count();
+        return nodeStates.length - nodeStateCounts[NodeState.CRASHED.ordinal()];
     }
 
     public void resetClusterState( Config config, Metrics metrics )
@@ -317,25 +310,22 @@ public class Cluster
                 setNodeState( nodeId, NodeState.IDLE );
             }
 
-            completedJobs.set( nodeId, 0 ); // reset completed work
-            lostJobs.set( nodeId, 0 ); // reset aborted work
             completedJobStack.get( nodeId ).clear(); // reset completed job stack
         }
+        Arrays.fill( completedJobs, 0 ); // reset completed work
+        Arrays.fill( lostJobs, 0 ); // reset aborted work
+        totalCompletedJobs = 0;
+        totalLostJobs = 0;
 
         currentEpoch += 1; // increment epoch
+        EventList.getInstance().cancelEpochsBefore( currentEpoch ); // drop events from the previous epoch
 //        System.out.printf( "Sim clock: %.5f, Current epoch: %s, Failure events: %s, Operational nodes: %s\r", Clock.getInstance().getClock(), currentEpoch,
 //                metrics.getFailureEvents(), getNumberOfOperationalNodes() );
         currentEpochState = EpochState.PROCESSING; // set to processing
 
         if ( Objects.equals( config.getAlgorithm(), "multi" ) )
         {
-            Graph<Integer,DefaultEdge> clean = new SimpleGraph<>( DefaultEdge.class );
-
-            for ( int i = 0; i < clusterSize; i++ )
-            {
-                clean.addVertex( i );
-            }
-            this.dependencyGraph = clean;
+            dependencySets.reset();
             this.commitGroupMap = new HashMap<>();
             this.nodeFailureSet = new HashSet<>();
         }
@@ -358,48 +348,66 @@ public class Cluster
 
     public void incCompletedJobs( int nodeId )
     {
-        var curr = this.completedJobs.get( nodeId ) + 1;
-        this.completedJobs.set( nodeId, curr );
+        completedJobs[nodeId] += 1;
+        totalCompletedJobs += 1;
     }
 
     public void incLostJobs( int nodeId )
     {
-        var curr = this.lostJobs.get( nodeId ) + 1;
-        this.lostJobs.set( nodeId, curr );
+        lostJobs[nodeId] += 1;
+        totalLostJobs += 1;
     }
 
     public void setNodeState( int nodeId, NodeState state )
     {
-        this.nodeStates.set( nodeId, state );
+        var previous = nodeStates[nodeId];
+        nodeStateCounts[previous] -= 1;
+        nodeStateCounts[state.ordinal()] += 1;
+        nodeStates[nodeId] = (byte) state.ordinal();
+        idleNodes.set( nodeId, state == NodeState.IDLE );
+
+        // check is system is down, once down it stays down
+        if ( nodeStateCounts[NodeState.CRASHED.ordinal()] == nodeStates.length )
+        {
+            clusterDown = true;
+        }
+
+        assert nodeStateCountsMatchScan();
+    }
 
-        // check is system is down
-        for ( var nodeState : nodeStates )
+    // full scan cross-check of the incremental state counts, only run with assertions enabled (-ea)
+    private boolean nodeStateCountsMatchScan()
+    {
+        var counts = new int[NODE_STATES.length];
+        for ( int nodeId = 0; nodeId < nodeStates.length; nodeId++ )
         {
-            if ( nodeState != NodeState.CRASHED )
+            counts[nodeStates[nodeId]] += 1;
+            if ( idleNodes.get( nodeId ) != (nodeStates[nodeId] == NodeState.IDLE.ordinal()) )
             {
-                // at least 1 node is up
-                return;
+                return false;
             }
         }
-
-        clusterDown = true;
+        return Arrays.equals( counts, nodeStateCounts );
     }
 
     public NodeState getNodeState( int nodeId )
     {
-        return nodeStates.get( nodeId );
+        return NODE_STATES[nodeStates[nodeId]];
     }
 
     public void computeCommitGroups()
     {
+        // one commit group per dependency set, members in node id order
+        Map<Integer,List<Integer>> membersByRoot = new LinkedHashMap<>();
+        for ( int nodeId = 0; nodeId < dependencySets.size(); nodeId++ )
+        {
+            membersByRoot.computeIfAbsent( dependencySets.find( nodeId ), root -> new ArrayList<>() ).add( nodeId );
+        }
+
         Map<Integer,CommitGroup> commitGroups = new HashMap<>();
-        var scAlgo = new BiconnectivityInspector<>( dependencyGraph );
-        var connectedComponents = scAlgo.getConnectedComponents();
         int commitGroupId = 0;
-
-        for ( var component : connectedComponents )
+        for ( var members : membersByRoot.values() )
         {
-            var members = component.vertexSet();
             var commitGroup = new CommitGroup( commitGroupId, members );
             commitGroups.put( commitGroupId, commitGroup );
             commitGroupId += 1;
@@ -473,10 +481,11 @@ public class Cluster
 
     public void moveCompletedToLostJobs( Integer member, int extra )
     {
-        var curr = lostJobs.get( member );
-        int toAdd = completedJobs.get( member ) + extra;
-        lostJobs.set( member, curr + toAdd );
-        completedJobs.set( member, 0 );
+        int toAdd = completedJobs[member] + extra;
+        lostJobs[member] += toAdd;
+        totalLostJobs += toAdd;
+        totalCompletedJobs -= completedJobs[member];
+        completedJobs[member] = 0;
         LOGGER.debug( String.format( " - move %s completed jobs to lost", toAdd ) );
     }
 
@@ -487,11 +496,10 @@ public class Cluster
                "start=" + start +
                ", epoch=" + currentEpoch +
                ", state=" + currentEpochState +
-               ", completedJobs=" + completedJobs +
-               ", lostJobs=" + lostJobs +
-               ", nodeStates=" + nodeStates +
+               ", completedJobs=" + Arrays.toString( completedJobs ) +
+               ", lostJobs=" + Arrays.toString( lostJobs ) +
+               ", nodeStates=" + IntStream.range( 0, nodeStates.length ).mapToObj( this::getNodeState ).toList() +
                ", failures=" + nodeFailureSet +
-               ", dependencyGraph=" + dependencyGraph +
                ", commitGroupMap=" + commitGroupMap +
                '}';
     }
@@ -1,15 +1,14 @@
 package state;
 
 import java.util.List;
-import java.util.Set;
 
 public class CommitGroup
 {
     int id;
-    Set<Integer> members;
+    List<Integer> members;
     boolean failed;
 
-    public CommitGroup( int id, Set<Integer> members )
+    public CommitGroup( int id, List<Integer> members )
     {
         this.id = id;
         this.members = members;
@@ -18,7 +17,7 @@ public class CommitGroup
 
     public List<Integer> getMembers()
     {
-        return members.stream().toList();
+        return members;
     }
 
     @Override
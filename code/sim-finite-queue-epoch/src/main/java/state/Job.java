@@ -1,10 +1,13 @@
 package state;
 
+import java.util.random.RandomGenerator;
+
 public class Job
 {
     private final double arrivalTime;
     private double departureTime;
     private int retries;
+    private RandomGenerator randomStream; // this job's own stream, only with common random numbers
 
     public Job( double arrivalTime )
     {
@@ -21,6 +24,16 @@ public class Job
         retries += 1;
     }
 
+    public RandomGenerator getRandomStream()
+    {
+        return randomStream;
+    }
+
+    public void setRandomStream( RandomGenerator randomStream )
+    {
+        this.randomStream = randomStream;
+    }
+
     public int getRetries()
     {
         return retries;
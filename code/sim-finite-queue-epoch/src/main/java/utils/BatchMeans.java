@@ -0,0 +1,80 @@
+package utils;
+
+import java.util.Arrays;
+
+// batch means over epochs for a ratio estimator, e.g. completed jobs over epoch time. Consecutive epochs are summed
+// into batches, when every slot is full adjacent batches are merged pairwise and the batch size doubles, so memory is
+// fixed however long the run and there are always between SLOTS/2 and SLOTS batches once the first merge has happened
+public class BatchMeans
+{
+    private static final int SLOTS = 64;
+
+    private final double[] numerators;
+    private final double[] denominators;
+    private int batches; // complete batches, the next one is being filled
+    private int batchSize; // epochs per batch
+    private int epochsInBatch;
+
+    public BatchMeans()
+    {
+        this.numerators = new double[SLOTS];
+        this.denominators = new double[SLOTS];
+        this.batches = 0;
+        this.batchSize = 1;
+        this.epochsInBatch = 0;
+    }
+
+    public void add( double numerator, double denominator )
+    {
+        numerators[batches] += numerator;
+        denominators[batches] += denominator;
+        epochsInBatch += 1;
+        if ( epochsInBatch == batchSize )
+        {
+            batches += 1;
+            epochsInBatch = 0;
+            if ( batches == SLOTS )
+            {
+                merge();
+            }
+        }
+    }
+
+    private void merge()
+    {
+        for ( int i = 0; i < SLOTS / 2; i++ )
+        {
+            numerators[i] = numerators[2 * i] + numerators[2 * i + 1];
+            denominators[i] = denominators[2 * i] + denominators[2 * i + 1];
+        }
+        Arrays.fill( numerators, SLOTS / 2, SLOTS, 0.0 );
+        Arrays.fill( denominators, SLOTS / 2, SLOTS, 0.0 );
+        batches = SLOTS / 2;
+        batchSize *= 2;
+    }
+
+    public int getBatches()
+    {
+        return batches;
+    }
+
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    // 95% confidence interval half-width from the complete batches, batches with nothing in the denominator are skipped
+    public double halfWidth()
+    {
+        var means = new double[batches];
+        var count = 0;
+        for ( int i = 0; i < batches; i++ )
+        {
+            if ( denominators[i] > 0 )
+            {
+                means[count++] = numerators[i] / denominators[i];
+            }
+        }
+        return Statistics.halfWidth( Arrays.copyOf( means, count ) );
+    }
+}
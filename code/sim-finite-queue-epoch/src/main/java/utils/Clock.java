@@ -2,8 +2,9 @@ package utils;
 
 public class Clock
 {
-    private static final Clock instance = new Clock();
+    private static final SimulationContext.Key<Clock> instance = SimulationContext.key( Clock::new );
     private double clock; // (secs)
+    private long ticks; // clock updates, one per event processed
 
     private Clock()
     {
@@ -12,12 +13,18 @@ public class Clock
 
     public static Clock getInstance()
     {
-        return instance;
+        return SimulationContext.current().get( instance );
     }
 
     public void setClock( double eventTime )
     {
         clock = eventTime;
+        ticks += 1;
+    }
+
+    public long getTicks()
+    {
+        return ticks;
     }
 
     public double getClock()
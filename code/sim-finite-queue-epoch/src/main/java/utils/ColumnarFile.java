@@ -0,0 +1,211 @@
+package utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+
+// append-only columnar binary file, read by scripts/columnar.R and scripts/columnar.py. After the 8 byte magic the file
+// is a run of blocks, each block holds one or more rows with typed columns plus string attributes that apply to every
+// row of the block. All numbers are big-endian:
+//   block:  int32 rows, int16 attributes, {utf name, utf value}, int16 columns, {column}
+//   column: utf name, byte type ('D' float64, 'L' int64, 'S' int32 length + UTF-8 bytes per value),
+//           byte codec (0 raw, 1 zlib), int32 payload length, payload
+// utf is an int16 length followed by the bytes (DataOutput.writeUTF)
+// A block is streamed into the file by the results sink, each column is written once to measure its payload (and
+// whether compression pays) and once more into the file, so its values must not change until then
+public class ColumnarFile
+{
+    public static final byte[] MAGIC = "SIMCOL01".getBytes( StandardCharsets.US_ASCII );
+
+    private static final byte RAW = 0;
+    private static final byte ZLIB = 1;
+
+    public interface Values
+    {
+        void writeTo( DataOutputStream out ) throws IOException;
+    }
+
+    private static class Column
+    {
+        private final String name;
+        private final char type;
+        private final Values values;
+
+        private Column( String name, char type, Values values )
+        {
+            this.name = name;
+            this.type = type;
+            this.values = values;
+        }
+    }
+
+    // counts the bytes passed on to the stream underneath, or only counts them when there is none
+    private static class Counter extends OutputStream
+    {
+        private final OutputStream out;
+        private long count;
+
+        private Counter( OutputStream out )
+        {
+            this.out = out;
+        }
+
+        @Override
+        public void write( int b ) throws IOException
+        {
+            if ( out != null )
+            {
+                out.write( b );
+            }
+            count++;
+        }
+
+        @Override
+        public void write( byte[] b, int off, int len ) throws IOException
+        {
+            if ( out != null )
+            {
+                out.write( b, off, len );
+            }
+            count += len;
+        }
+    }
+
+    private final String file;
+    private final boolean compress;
+
+    public ColumnarFile( String name, boolean compress )
+    {
+        this.file = name;
+        this.compress = compress;
+    }
+
+    public Block block( int rows )
+    {
+        return new Block( rows );
+    }
+
+    public class Block
+    {
+        private final int rows;
+        private final Map<String,String> attributes;
+        private final List<Column> columns;
+
+        private Block( int rows )
+        {
+            this.rows = rows;
+            this.attributes = new LinkedHashMap<>();
+            this.columns = new ArrayList<>();
+        }
+
+        public Block attribute( String name, Object value )
+        {
+            attributes.put( name, String.valueOf( value ) );
+            return this;
+        }
+
+        public Block doubles( String name, double... values )
+        {
+            return column( name, 'D', out ->
+            {
+                for ( var value : values )
+                {
+                    out.writeDouble( value );
+                }
+            } );
+        }
+
+        public Block longs( String name, long... values )
+        {
+            return column( name, 'L', out ->
+            {
+                for ( var value : values )
+                {
+                    out.writeLong( value );
+                }
+            } );
+        }
+
+        public Block strings( String name, String... values )
+        {
+            return column( name, 'S', out ->
+            {
+                for ( var value : values )
+                {
+                    var bytes = value.getBytes( StandardCharsets.UTF_8 );
+                    out.writeInt( bytes.length );
+                    out.write( bytes );
+                }
+            } );
+        }
+
+        // type is 'D', 'L' or 'S', a column is only stored compressed if that makes it smaller (not the case for the
+        // single values of a results row)
+        public Block column( String name, char type, Values values )
+        {
+            columns.add( new Column( name, type, values ) );
+            return this;
+        }
+
+        public void append()
+        {
+            ResultsSink.getInstance().append( file, MAGIC, this::writeTo );
+        }
+
+        private void writeTo( OutputStream stream ) throws IOException
+        {
+            var out = new DataOutputStream( stream );
+            out.writeInt( rows );
+            out.writeShort( attributes.size() );
+            for ( var attribute : attributes.entrySet() )
+            {
+                out.writeUTF( attribute.getKey() );
+                out.writeUTF( attribute.getValue() );
+            }
+            out.writeShort( columns.size() );
+            for ( var column : columns )
+            {
+                var length = payload( column.values, null, false );
+                var codec = RAW;
+                if ( compress )
+                {
+                    var compressed = payload( column.values, null, true );
+                    if ( compressed < length )
+                    {
+                        length = compressed;
+                        codec = ZLIB;
+                    }
+                }
+                out.writeUTF( column.name );
+                out.writeByte( column.type );
+                out.writeByte( codec );
+                out.writeInt( Math.toIntExact( length ) );
+                out.flush();
+                payload( column.values, stream, codec == ZLIB );
+            }
+            out.flush();
+        }
+    }
+
+    // writes the values, deflated or not, to the stream (null to only measure them) and returns the payload length
+    private static long payload( Values values, OutputStream stream, boolean deflate ) throws IOException
+    {
+        var counter = new Counter( stream );
+        var deflater = deflate ? new DeflaterOutputStream( counter ) : null;
+        var out = new DataOutputStream( new BufferedOutputStream( deflate ? deflater : counter ) );
+        values.writeTo( out );
+        out.flush();
+        if ( deflater != null )
+        {
+            deflater.finish();
+        }
+        return counter.count;
+    }
+}
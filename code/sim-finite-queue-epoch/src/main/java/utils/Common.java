@@ -4,6 +4,7 @@ import event.AbortOperationEvent;
 import event.ArrivalEvent;
 import event.CommitOperationEvent;
 import event.EpochTimeoutEvent;
+import event.EventPool;
 import event.EventType;
 import event.FailureEvent;
 import event.RepairEvent;
@@ -11,6 +12,7 @@ import event.TransactionEvent;
 import org.apache.log4j.Logger;
 import state.ArrivalQueue;
 import state.Cluster;
+import state.Job;
 import state.NodeState;
 
 public class Common
@@ -26,7 +28,8 @@ public class Common
 
         // generate epoch timeout event
         var currentEpoch = cluster.getCurrentEpoch();
-        eventList.addEvent( new EpochTimeoutEvent( thisEventTime + rand.generateNextEpochTimeout(), EventType.EPOCH_TIMEOUT, currentEpoch ) );
+        eventList.addEvent(
+                EventPool.getInstance().getEpochTimeoutEvent( thisEventTime + rand.generateNextEpochTimeout(), EventType.EPOCH_TIMEOUT, currentEpoch ) );
 
         // if there is a job in the queue then generate a transaction completion if the node is idle
         for ( int nodeId = 0; nodeId < config.getClusterSize(); nodeId++ )
@@ -44,7 +47,7 @@ public class Common
                     System.exit( 1 );
                 }
                 cluster.setCurrentJob( nodeId, job );
-                generateTransactionCompletionEvent( rand, eventList, nodeId, thisEventTime, currentEpoch );
+                generateTransactionCompletionEvent( rand, eventList, nodeId, job, thisEventTime, currentEpoch );
             }
         }
     }
@@ -52,24 +55,26 @@ public class Common
     public static void generateCommitOperationCompletionEvent( EventList eventList, Rand rand, double thisEventTime, int currentEpoch )
     {
         var commitOperationEventTime = thisEventTime + rand.generateCommitOperationDuration();
-        var commitOperationEvent = new CommitOperationEvent( commitOperationEventTime, EventType.COMMIT_COMPLETED, currentEpoch );
+        var commitOperationEvent = EventPool.getInstance().getCommitOperationEvent( commitOperationEventTime, EventType.COMMIT_COMPLETED, currentEpoch );
         eventList.addEvent( commitOperationEvent );
     }
 
     public static void generateAbortCompletionEvent( double thisEventTime, Rand rand, EventList eventList, int currentEpoch )
     {
-        eventList.addEvent( new AbortOperationEvent( thisEventTime + rand.generateAbortOperationDuration(), EventType.ABORT_COMPLETED, currentEpoch ) );
+        var abortEventTime = thisEventTime + rand.generateAbortOperationDuration();
+        eventList.addEvent( EventPool.getInstance().getAbortOperationEvent( abortEventTime, EventType.ABORT_COMPLETED, currentEpoch ) );
     }
 
-    public static void generateTransactionCompletionEvent( Rand rand, EventList eventList, int thisNodeId, double thisEventTime, Integer currentEpoch )
+    public static void generateTransactionCompletionEvent( Rand rand, EventList eventList, int thisNodeId, Job job, double thisEventTime,
+                                                           Integer currentEpoch )
     {
-        eventList.addEvent(
-                new TransactionEvent( thisEventTime + rand.generateTransactionServiceTime(), EventType.TRANSACTION_COMPLETED, thisNodeId, currentEpoch ) );
+        var transactionEventTime = thisEventTime + rand.generateTransactionServiceTime( job );
+        eventList.addEvent( EventPool.getInstance().getTransactionEvent( transactionEventTime, EventType.TRANSACTION_COMPLETED, thisNodeId, currentEpoch ) );
     }
 
     public static void generateRepairEvent( int thisNodeId, int currentEpoch, double thisEventTime, Rand rand, EventList eventList )
     {
-        eventList.addEvent( new RepairEvent( thisEventTime + rand.generateRepairTime(), EventType.REPAIR, thisNodeId, currentEpoch ) );
+        eventList.addEvent( EventPool.getInstance().getRepairEvent( thisEventTime + rand.generateRepairTime(), EventType.REPAIR, thisNodeId, currentEpoch ) );
     }
 
     public static void generateNextFailureEvent( double thisEventTime, Rand rand, EventList eventList, Cluster cluster )
@@ -87,13 +92,13 @@ public class Common
             }
 
             var nextFailureEventTime = thisEventTime + rand.generateNextFailure();
-            eventList.addEvent( new FailureEvent( nextFailureEventTime, EventType.FAILURE, nextFailedNode ) );
+            eventList.addEvent( EventPool.getInstance().getFailureEvent( nextFailureEventTime, EventType.FAILURE, nextFailedNode ) );
         }
     }
 
     public static void generateNextArrivalEvent( Rand rand, EventList eventList, double thisEventTime )
     {
-        eventList.addEvent( new ArrivalEvent( thisEventTime + rand.generateNextArrivalTime(), EventType.TRANSACTION_ARRIVAL ) );
+        eventList.addEvent( EventPool.getInstance().getArrivalEvent( thisEventTime + rand.generateNextArrivalTime(), EventType.TRANSACTION_ARRIVAL ) );
     }
 
     public static void tryGetJobFromQueue( Cluster cluster, Rand rand, EventList eventList, ArrivalQueue queue, int thisNodeId, double thisEventTime,
@@ -110,7 +115,7 @@ public class Common
                 System.exit( 1 );
             }
             cluster.setCurrentJob( thisNodeId, job );
-            Common.generateTransactionCompletionEvent( rand, eventList, thisNodeId, thisEventTime, currentEpoch );
+            Common.generateTransactionCompletionEvent( rand, eventList, thisNodeId, job, thisEventTime, currentEpoch );
         }
         else
         {
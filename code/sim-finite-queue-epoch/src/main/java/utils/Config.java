@@ -1,23 +1,38 @@
 package utils;
 
+import java.util.Objects;
+
 public class Config
 {
-    private static final Config instance = new Config();
-
-    private static int clusterSize;
-    private static double epochTimeout;
-    private static double commitOperationRate;
-    private static double abortOperationRate;
-    private static double transactionServiceRate;
-    private static double failureRate;
-    private static double repairRate;
-    private static double arrivalRate;
-    private static double propDistributedTransactions;
-    private static long seedValue = 0;
-    private static boolean fixSeed = true;
-    private static boolean affinity = false;
-    private static String algorithm = "single";
-    private static boolean fixedEpochTimeout = true;
+    private static final SimulationContext.Key<Config> instance = SimulationContext.key( Config::new );
+
+    private int clusterSize;
+    private double epochTimeout;
+    private double commitOperationRate;
+    private double abortOperationRate;
+    private double transactionServiceRate;
+    private double failureRate;
+    private double repairRate;
+    private double arrivalRate;
+    private double propDistributedTransactions;
+    private long seedValue = 0;
+    private boolean fixSeed = true;
+    private boolean affinity = false;
+    private String algorithm = "single";
+    private boolean fixedEpochTimeout = true;
+    private String eventListImpl = "heap";
+    private String randomGenerator = "well";
+    private boolean commonRandomNumbers = false;
+    private boolean antithetic = false; // replications run in antithetic pairs
+    private boolean complementary = false; // this run is the second of an antithetic pair
+    private double targetPrecision = 0; // relative half-width to stop at, 0 for a fixed duration
+    private int precisionEpochs = 16;
+    private boolean warmUpDetection = false;
+    private int seriesSampling = 1; // keep every k-th epoch of the per-epoch series
+    private String output = "csv"; // csv, columnar or both
+    private boolean compressOutput = true; // zlib columns in the columnar output
+    private String trace = null; // event trace name, null for no trace
+    private int traceSegments = 8;
 
     private Config()
     {
@@ -26,7 +41,7 @@ public class Config
 
     public static Config getInstance()
     {
-        return instance;
+        return SimulationContext.current().get( instance );
     }
 
     public boolean isFixedEpochTimeout()
@@ -36,7 +51,147 @@ public class Config
 
     public void setFixedEpochTimeout( boolean fixedEpochTimeout )
     {
-        Config.fixedEpochTimeout = fixedEpochTimeout;
+        this.fixedEpochTimeout = fixedEpochTimeout;
+    }
+
+    public String getEventListImpl()
+    {
+        return eventListImpl;
+    }
+
+    public void setEventListImpl( String eventListImpl )
+    {
+        this.eventListImpl = eventListImpl;
+    }
+
+    public String getRandomGenerator()
+    {
+        return randomGenerator;
+    }
+
+    public void setRandomGenerator( String randomGenerator )
+    {
+        this.randomGenerator = randomGenerator;
+    }
+
+    public boolean isCommonRandomNumbers()
+    {
+        return commonRandomNumbers;
+    }
+
+    public void setCommonRandomNumbers( boolean commonRandomNumbers )
+    {
+        this.commonRandomNumbers = commonRandomNumbers;
+    }
+
+    public boolean isAntithetic()
+    {
+        return antithetic;
+    }
+
+    public void setAntithetic( boolean antithetic )
+    {
+        this.antithetic = antithetic;
+    }
+
+    public boolean isComplementary()
+    {
+        return complementary;
+    }
+
+    public void setComplementary( boolean complementary )
+    {
+        this.complementary = complementary;
+    }
+
+    public double getTargetPrecision()
+    {
+        return targetPrecision;
+    }
+
+    public void setTargetPrecision( double targetPrecision )
+    {
+        this.targetPrecision = targetPrecision;
+    }
+
+    public int getPrecisionEpochs()
+    {
+        return precisionEpochs;
+    }
+
+    public void setPrecisionEpochs( int precisionEpochs )
+    {
+        this.precisionEpochs = precisionEpochs;
+    }
+
+    public boolean isWarmUpDetection()
+    {
+        return warmUpDetection;
+    }
+
+    public void setWarmUpDetection( boolean warmUpDetection )
+    {
+        this.warmUpDetection = warmUpDetection;
+    }
+
+    public int getSeriesSampling()
+    {
+        return seriesSampling;
+    }
+
+    public void setSeriesSampling( int seriesSampling )
+    {
+        this.seriesSampling = seriesSampling;
+    }
+
+    public String getOutput()
+    {
+        return output;
+    }
+
+    public void setOutput( String output )
+    {
+        this.output = output;
+    }
+
+    public boolean isCsvOutput()
+    {
+        return Objects.equals( output, "csv" ) || Objects.equals( output, "both" );
+    }
+
+    public boolean isColumnarOutput()
+    {
+        return Objects.equals( output, "columnar" ) || Objects.equals( output, "both" );
+    }
+
+    public boolean isCompressOutput()
+    {
+        return compressOutput;
+    }
+
+    public void setCompressOutput( boolean compressOutput )
+    {
+        this.compressOutput = compressOutput;
+    }
+
+    public String getTrace()
+    {
+        return trace;
+    }
+
+    public void setTrace( String trace )
+    {
+        this.trace = trace;
+    }
+
+    public int getTraceSegments()
+    {
+        return traceSegments;
+    }
+
+    public void setTraceSegments( int traceSegments )
+    {
+        this.traceSegments = traceSegments;
     }
 
     public double getArrivalRateInSecs()
@@ -51,7 +206,7 @@ public class Config
 
     public void setArrivalRate( double arrivalRate )
     {
-        Config.arrivalRate = arrivalRate;
+        this.arrivalRate = arrivalRate;
     }
 
     public boolean isAffinity()
@@ -61,12 +216,12 @@ public class Config
 
     public void setAffinity( boolean affinity )
     {
-        Config.affinity = affinity;
+        this.affinity = affinity;
     }
 
     public void setAlgorithm( String algorithm )
     {
-        Config.algorithm = algorithm;
+        this.algorithm = algorithm;
     }
 
     public String getAlgorithm()
@@ -76,7 +231,7 @@ public class Config
 
     public void setClusterSize( int clusterSize )
     {
-        Config.clusterSize = clusterSize;
+        this.clusterSize = clusterSize;
     }
 
     public int getClusterSize()
@@ -151,7 +306,7 @@ public class Config
 
     public void setSeedValue( long seedValue )
     {
-        Config.seedValue = seedValue;
+        this.seedValue = seedValue;
     }
 
     public boolean isSeedSet()
@@ -161,37 +316,37 @@ public class Config
 
     public void setEpochTimeout( double epochTimeout )
     {
-        Config.epochTimeout = epochTimeout;
+        this.epochTimeout = epochTimeout;
     }
 
     public void setCommitOperationRate( double twoPhaseCommitDelay )
     {
-        Config.commitOperationRate = twoPhaseCommitDelay;
+        this.commitOperationRate = twoPhaseCommitDelay;
     }
 
     public void setAbortOperationRate( double abortOperationRate )
     {
-        Config.abortOperationRate = abortOperationRate;
+        this.abortOperationRate = abortOperationRate;
     }
 
     public void setTransactionServiceRate( double transactionServiceRate )
     {
-        Config.transactionServiceRate = transactionServiceRate;
+        this.transactionServiceRate = transactionServiceRate;
     }
 
     public void setFailureRate( double failureRate )
     {
-        Config.failureRate = failureRate;
+        this.failureRate = failureRate;
     }
 
     public void setRepairRate( double repairRate )
     {
-        Config.repairRate = repairRate;
+        this.repairRate = repairRate;
     }
 
     public void setFixSeed( boolean fixSeed )
     {
-        Config.fixSeed = fixSeed;
+        this.fixSeed = fixSeed;
     }
 
     public double getPropDistributedTransactions()
@@ -201,7 +356,7 @@ public class Config
 
     public void setPropDistributedTransactions( double propDistributedTransactions )
     {
-        Config.propDistributedTransactions = propDistributedTransactions;
+        this.propDistributedTransactions = propDistributedTransactions;
     }
 
     @Override
@@ -221,6 +376,15 @@ public class Config
                "    set seed: " + fixSeed + "\n" +
                "    seed: " + seedValue + "\n" +
                "    affinity: " + affinity + "\n" +
-               "    algorithm: " + algorithm;
+               "    algorithm: " + algorithm + "\n" +
+               "    event list: " + eventListImpl + "\n" +
+               "    random number generator: " + randomGenerator + "\n" +
+               "    common random numbers: " + commonRandomNumbers + "\n" +
+               "    antithetic replications: " + antithetic + "\n" +
+               "    target precision: " + targetPrecision + "\n" +
+               "    warm-up detection: " + warmUpDetection + "\n" +
+               "    per-epoch series sampling: " + seriesSampling + "\n" +
+               "    output: " + output + "\n" +
+               "    trace: " + trace;
     }
 }
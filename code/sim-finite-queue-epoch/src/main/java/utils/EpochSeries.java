@@ -0,0 +1,168 @@
+package utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// per-epoch time series in bounded memory. Every k-th value offered is kept (k = 1 keeps them all) in a fixed
+// primitive buffer that is appended to a temporary binary file each time it fills, so memory does not grow with the
+// length of the run
+public class EpochSeries
+{
+    private static final int CAPACITY = 8192;
+
+    private final boolean integral;
+    private final int sampling;
+    private final double[] buffer;
+    private int buffered;
+    private long offered;
+    private long spilled;
+    private Path spillFile;
+    private DataOutputStream spill;
+
+    public EpochSeries( boolean integral, int sampling )
+    {
+        this.integral = integral;
+        this.sampling = Math.max( 1, sampling );
+        this.buffer = new double[CAPACITY];
+        this.buffered = 0;
+        this.offered = 0;
+        this.spilled = 0;
+    }
+
+    public void add( double value )
+    {
+        if ( offered++ % sampling != 0 )
+        {
+            return;
+        }
+        if ( buffered == buffer.length )
+        {
+            flush();
+        }
+        buffer[buffered++] = value;
+    }
+
+    private void flush()
+    {
+        try
+        {
+            if ( spill == null )
+            {
+                spillFile = Files.createTempFile( "epoch-series", ".bin" );
+                spill = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( spillFile ) ) );
+            }
+            for ( int i = 0; i < buffered; i++ )
+            {
+                spill.writeDouble( buffer[i] );
+            }
+            spilled += buffered;
+            buffered = 0;
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( "Could not spill epoch series to " + spillFile, e );
+        }
+    }
+
+    // values kept
+    public long size()
+    {
+        return spilled + buffered;
+    }
+
+    public boolean isIntegral()
+    {
+        return integral;
+    }
+
+    public int getSampling()
+    {
+        return sampling;
+    }
+
+    // values kept, oldest first, comma separated on one line after the prefix
+    public void writeCsv( String prefix, OutputStream stream ) throws IOException
+    {
+        var out = new OutputStreamWriter( stream, StandardCharsets.UTF_8 );
+        out.write( prefix );
+        forEach( ( index, value ) ->
+        {
+            if ( index > 0 )
+            {
+                out.write( ',' );
+            }
+            out.write( integral ? Long.toString( (long) value ) : Double.toString( value ) );
+        } );
+        out.write( '\n' );
+        out.flush();
+    }
+
+    // values kept, oldest first, as int64 for an integral series and float64 otherwise
+    public void writeBinary( DataOutputStream out ) throws IOException
+    {
+        forEach( ( index, value ) ->
+        {
+            if ( integral )
+            {
+                out.writeLong( (long) value );
+            }
+            else
+            {
+                out.writeDouble( value );
+            }
+        } );
+    }
+
+    private interface Visitor
+    {
+        void accept( long index, double value ) throws IOException;
+    }
+
+    private void forEach( Visitor visitor ) throws IOException
+    {
+        if ( spill != null )
+        {
+            spill.flush();
+            try ( var in = new DataInputStream( new BufferedInputStream( Files.newInputStream( spillFile ) ) ) )
+            {
+                for ( long i = 0; i < spilled; i++ )
+                {
+                    visitor.accept( i, in.readDouble() );
+                }
+            }
+        }
+        for ( int i = 0; i < buffered; i++ )
+        {
+            visitor.accept( spilled + i, buffer[i] );
+        }
+    }
+
+    // drop the spill file once the series has been written out
+    public void discard()
+    {
+        if ( spill == null )
+        {
+            return;
+        }
+        try
+        {
+            spill.close();
+            Files.deleteIfExists( spillFile );
+        }
+        catch ( IOException e )
+        {
+            e.printStackTrace();
+        }
+        spill = null;
+        spilled = 0;
+    }
+}
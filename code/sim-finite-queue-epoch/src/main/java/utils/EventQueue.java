@@ -0,0 +1,19 @@
+package utils;
+
+import event.AbstractEvent;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+interface EventQueue
+{
+    void add( AbstractEvent event );
+
+    // removes the earliest event, events with equal times are returned in the order they were added
+    AbstractEvent poll();
+
+    int size();
+
+    // removes all matching events, passing each to the consumer, and returns how many were removed
+    int purge( Predicate<AbstractEvent> filter, Consumer<AbstractEvent> removed );
+}
@@ -0,0 +1,127 @@
+package utils;
+
+import event.AbstractEvent;
+import event.FailureEvent;
+import event.RepairEvent;
+import event.TransactionEvent;
+import state.EpochState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+// append-only binary trace of the dispatched events, one fixed-size record per event written straight into a
+// memory-mapped segment file. Segments are files <name>.<i>.trc, i = 0..segments-1, used as a ring: once the last
+// one fills the oldest is overwritten, so the trace keeps the most recent events in bounded disk space. Segments left
+// by an earlier trace with the same name are deleted first. Read with TraceReader. Layout (big-endian):
+//   header: 8 byte magic, int64 sequence number of the segment, int32 records, int32 record size, int32 segments in
+//           the ring, 4 bytes padding
+//   record: float64 event time, int32 epoch, int16 node (-1 for events without one), int8 event type, int8 epoch state
+// the epoch and its state are the cluster's when the event was dispatched
+public class EventTrace
+{
+    public static final byte[] MAGIC = "SIMTRC02".getBytes( StandardCharsets.US_ASCII );
+    public static final int HEADER = 32;
+    public static final int RECORD = 16;
+    public static final int RECORDS_PER_SEGMENT = 1 << 20;
+
+    private final String name;
+    private final int segments;
+    private long sequence;
+    private MappedByteBuffer segment;
+    private int records;
+    private int position;
+
+    public EventTrace( String name, int segments )
+    {
+        this.name = name;
+        this.segments = Math.max( 1, segments );
+        this.sequence = -1;
+        deleteSegments();
+        open();
+    }
+
+    public static String segmentFile( String name, int index )
+    {
+        return name + "." + index + ".trc";
+    }
+
+    public void record( AbstractEvent event, int epoch, EpochState epochState )
+    {
+        if ( records == RECORDS_PER_SEGMENT )
+        {
+            open();
+        }
+        segment.putDouble( position, event.getEventTime() );
+        segment.putInt( position + 8, epoch );
+        segment.putShort( position + 12, (short) nodeId( event ) );
+        segment.put( position + 14, (byte) event.getEventType().ordinal() );
+        segment.put( position + 15, (byte) epochState.ordinal() );
+        position += RECORD;
+        records += 1;
+        // kept current so the trace of a run that dies part way is still readable
+        segment.putInt( 16, records );
+    }
+
+    public void close()
+    {
+        segment = null;
+    }
+
+    private static int nodeId( AbstractEvent event )
+    {
+        return switch ( event.getEventType() )
+        {
+            case TRANSACTION_COMPLETED -> ((TransactionEvent) event).getNodeId();
+            case FAILURE -> ((FailureEvent) event).getNodeId();
+            case REPAIR -> ((RepairEvent) event).getNodeId();
+            default -> -1;
+        };
+    }
+
+    // every <name>.<i>.trc, whatever the number of segments of the trace that wrote them
+    private void deleteSegments()
+    {
+        var path = Path.of( name ).toAbsolutePath();
+        var pattern = Pattern.compile( Pattern.quote( path.getFileName().toString() ) + "\\.\\d+\\.trc" );
+        try ( var files = Files.newDirectoryStream( path.getParent(), file -> pattern.matcher( file.getFileName().toString() ).matches() ) )
+        {
+            for ( var file : files )
+            {
+                Files.delete( file );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( "Could not delete the old segments of trace " + name, e );
+        }
+    }
+
+    // the next segment of the ring, mapped in full
+    private void open()
+    {
+        sequence += 1;
+        var file = Path.of( segmentFile( name, (int) (sequence % segments) ) );
+        try ( var channel = FileChannel.open( file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE ) )
+        {
+            segment = channel.map( FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) RECORD * RECORDS_PER_SEGMENT );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( "Could not map trace segment " + file, e );
+        }
+        segment.put( 0, MAGIC );
+        segment.putLong( 8, sequence );
+        segment.putInt( 16, 0 );
+        segment.putInt( 20, RECORD );
+        segment.putInt( 24, segments );
+        records = 0;
+        position = HEADER;
+    }
+}
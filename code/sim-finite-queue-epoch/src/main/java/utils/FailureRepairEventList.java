@@ -8,7 +8,7 @@ import java.util.List;
 
 public class FailureRepairEventList
 {
-    private static final FailureRepairEventList instance = new FailureRepairEventList();
+    private static final SimulationContext.Key<FailureRepairEventList> instance = SimulationContext.key( FailureRepairEventList::new );
     private final List<AbstractEvent> eventList;
 
     private FailureRepairEventList()
@@ -18,7 +18,7 @@ public class FailureRepairEventList
 
     public static FailureRepairEventList getInstance()
     {
-        return instance;
+        return SimulationContext.current().get( instance );
     }
 
     public void addEvent( AbstractEvent event )
@@ -0,0 +1,163 @@
+package utils;
+
+import event.AbstractEvent;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// array-backed 4-ary min-heap keyed on event time, ties are broken by insertion order
+class HeapEventQueue implements EventQueue
+{
+    private static final int ARITY = 4;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private AbstractEvent[] events;
+    private double[] times;
+    private long[] sequence;
+    private int size;
+    private long nextSequence;
+
+    HeapEventQueue()
+    {
+        this.events = new AbstractEvent[INITIAL_CAPACITY];
+        this.times = new double[INITIAL_CAPACITY];
+        this.sequence = new long[INITIAL_CAPACITY];
+        this.size = 0;
+        this.nextSequence = 0;
+    }
+
+    @Override
+    public void add( AbstractEvent event )
+    {
+        if ( size == events.length )
+        {
+            grow();
+        }
+        siftUp( size, event, event.getEventTime(), nextSequence++ );
+        size += 1;
+    }
+
+    @Override
+    public AbstractEvent poll()
+    {
+        if ( size == 0 )
+        {
+            return null;
+        }
+
+        var first = events[0];
+        size -= 1;
+        if ( size > 0 )
+        {
+            siftDown( 0, events[size], times[size], sequence[size] );
+        }
+        events[size] = null;
+        return first;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public int purge( Predicate<AbstractEvent> filter, Consumer<AbstractEvent> removed )
+    {
+        var kept = 0;
+        for ( int i = 0; i < size; i++ )
+        {
+            if ( filter.test( events[i] ) )
+            {
+                removed.accept( events[i] );
+            }
+            else
+            {
+                move( i, kept );
+                kept += 1;
+            }
+        }
+        var count = size - kept;
+        Arrays.fill( events, kept, size, null );
+        size = kept;
+
+        // rebuild the heap bottom up, the original sequence numbers keep the tie-break order
+        for ( int i = (size - 2) / ARITY; i >= 0; i-- )
+        {
+            siftDown( i, events[i], times[i], sequence[i] );
+        }
+        return count;
+    }
+
+    private void siftUp( int index, AbstractEvent event, double time, long seq )
+    {
+        while ( index > 0 )
+        {
+            var parent = (index - 1) / ARITY;
+            if ( !isBefore( time, seq, times[parent], sequence[parent] ) )
+            {
+                break;
+            }
+            move( parent, index );
+            index = parent;
+        }
+        set( index, event, time, seq );
+    }
+
+    private void siftDown( int index, AbstractEvent event, double time, long seq )
+    {
+        while ( true )
+        {
+            var firstChild = index * ARITY + 1;
+            if ( firstChild >= size )
+            {
+                break;
+            }
+
+            // find the earliest child
+            var lastChild = Math.min( firstChild + ARITY, size );
+            var min = firstChild;
+            for ( int child = firstChild + 1; child < lastChild; child++ )
+            {
+                if ( isBefore( times[child], sequence[child], times[min], sequence[min] ) )
+                {
+                    min = child;
+                }
+            }
+
+            if ( !isBefore( times[min], sequence[min], time, seq ) )
+            {
+                break;
+            }
+            move( min, index );
+            index = min;
+        }
+        set( index, event, time, seq );
+    }
+
+    private static boolean isBefore( double time, long seq, double otherTime, long otherSeq )
+    {
+        return time < otherTime || (time == otherTime && seq < otherSeq);
+    }
+
+    private void move( int from, int to )
+    {
+        set( to, events[from], times[from], sequence[from] );
+    }
+
+    private void set( int index, AbstractEvent event, double time, long seq )
+    {
+        events[index] = event;
+        times[index] = time;
+        sequence[index] = seq;
+    }
+
+    private void grow()
+    {
+        var capacity = events.length * 2;
+        events = Arrays.copyOf( events, capacity );
+        times = Arrays.copyOf( times, capacity );
+        sequence = Arrays.copyOf( sequence, capacity );
+    }
+}
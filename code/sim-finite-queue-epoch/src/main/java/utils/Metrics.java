@@ -1,5 +1,6 @@
 package utils;
 
+import org.HdrHistogram.Histogram;
 import org.apache.log4j.Logger;
 import state.Cluster;
 import state.EpochSummary;
@@ -7,12 +8,13 @@ import state.EpochSummary;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 public class Metrics
 {
     private final static Logger LOGGER = Logger.getLogger( Metrics.class.getName() );
 
-    private static final Metrics instance = new Metrics();
+    private static final SimulationContext.Key<Metrics> instance = SimulationContext.key( Metrics::new );
 
     private int totallyFailedEpochs;
     private int completedEpochs;
@@ -24,12 +26,65 @@ public class Metrics
     private int cumulativeOperationalCommitGroups;
     private int lostJobs;
     private int failedEpochLostJobs;
-    private List<Integer> queueSizeAtEpochTimeout;
-    private List<Double> perEpochAverageRespTime;
+    // per-epoch series, sampled every seriesSampling epochs and spilled to disk
+    private EpochSeries queueSizeAtEpochTimeout;
+    private EpochSeries perEpochAverageRespTime;
+    private int lastQueueSize;
     private double cumulativeJobResponseTime;
 
     private int arrivals;
-    private List<Integer> perEpochArrivals;
+    private EpochSeries perEpochArrivals;
+
+    // batch means over epochs of completed jobs per second and response time
+    private BatchMeans completedJobsPerSecBatches;
+    private BatchMeans responseTimeBatches;
+    private double stopTime;
+
+    // response times (micros) of committed jobs by number of retries, the last class is that many or more, and the
+    // duration of the epochs that committed. Fixed range so recording never allocates, longer values are clamped
+    public static final int RETRY_CLASSES = 4;
+    private static final long HIGHEST_TRACKABLE = TimeUnit.HOURS.toMicros( 1 );
+    private final Histogram[] responseTimeByRetries;
+    private final Histogram epochLatencyHistogram;
+
+    // warm-up detection, per-epoch data and totals every WarmUp.BATCH epochs until the warm-up has been deleted
+    private WarmUp warmUp;
+    private List<Totals> warmUpTotals;
+    private double warmUpEpochs;
+    private double warmUpTime;
+
+    // accumulator totals at an epoch boundary
+    private static final class Totals
+    {
+        private final int totallyFailedEpochs;
+        private final int completedEpochs;
+        private final int partialFailedEpochs;
+        private final long completedJobs;
+        private final double cumulativeEpochLatency;
+        private final int failureEvents;
+        private final int repairEvents;
+        private final int cumulativeOperationalCommitGroups;
+        private final int lostJobs;
+        private final int failedEpochLostJobs;
+        private final double cumulativeJobResponseTime;
+        private final double time;
+
+        private Totals( Metrics metrics, double time )
+        {
+            this.totallyFailedEpochs = metrics.totallyFailedEpochs;
+            this.completedEpochs = metrics.completedEpochs;
+            this.partialFailedEpochs = metrics.partialFailedEpochs;
+            this.completedJobs = metrics.completedJobs;
+            this.cumulativeEpochLatency = metrics.cumulativeEpochLatency;
+            this.failureEvents = metrics.failureEvents;
+            this.repairEvents = metrics.repairEvents;
+            this.cumulativeOperationalCommitGroups = metrics.cumulativeOperationalCommitGroups;
+            this.lostJobs = metrics.lostJobs;
+            this.failedEpochLostJobs = metrics.failedEpochLostJobs;
+            this.cumulativeJobResponseTime = metrics.cumulativeJobResponseTime;
+            this.time = time;
+        }
+    }
 
     private Metrics()
     {
@@ -43,17 +98,40 @@ public class Metrics
         cumulativeOperationalCommitGroups = 0;
         lostJobs = 0;
         failedEpochLostJobs = 0;
-        queueSizeAtEpochTimeout = new ArrayList<>();
-        perEpochAverageRespTime = new ArrayList<>();
+        var sampling = Config.getInstance().getSeriesSampling();
+        queueSizeAtEpochTimeout = new EpochSeries( true, sampling );
+        perEpochAverageRespTime = new EpochSeries( false, sampling );
+        lastQueueSize = 0;
         cumulativeJobResponseTime = 0.0;
 
         arrivals = 0;
-        perEpochArrivals = new ArrayList<>();
+        perEpochArrivals = new EpochSeries( true, sampling );
+
+        completedJobsPerSecBatches = new BatchMeans();
+        responseTimeBatches = new BatchMeans();
+
+        responseTimeByRetries = new Histogram[RETRY_CLASSES];
+        for ( int i = 0; i < RETRY_CLASSES; i++ )
+        {
+            responseTimeByRetries[i] = new Histogram( HIGHEST_TRACKABLE, 3 );
+        }
+        epochLatencyHistogram = new Histogram( HIGHEST_TRACKABLE, 3 );
+
+        warmUpEpochs = 0;
+        warmUpTime = 0;
+        if ( Config.getInstance().isWarmUpDetection() )
+        {
+            warmUp = new WarmUp();
+            warmUpTotals = new ArrayList<>();
+            warmUpTotals.add( new Totals( this, 0 ) );
+            warmUpEpochs = Double.NaN;
+            warmUpTime = Double.NaN;
+        }
     }
 
     public static Metrics getInstance()
     {
-        return instance;
+        return SimulationContext.current().get( instance );
     }
 
     public void incArrivals()
@@ -72,7 +150,7 @@ public class Metrics
         resetArrivals();
     }
 
-    public List<Integer> getPerEpochArrivals()
+    public EpochSeries getPerEpochArrivals()
     {
         return perEpochArrivals;
     }
@@ -195,9 +273,10 @@ public class Metrics
     public void addQueueSize( int size )
     {
         this.queueSizeAtEpochTimeout.add( size );
+        this.lastQueueSize = size;
     }
 
-    public List<Integer> getQueueSizeAtEpochTimeout()
+    public EpochSeries getQueueSizeAtEpochTimeout()
     {
         return queueSizeAtEpochTimeout;
     }
@@ -207,16 +286,160 @@ public class Metrics
         this.perEpochAverageRespTime.add( avRespTime );
     }
 
-    public List<Double> getPerEpochAvRespTime()
+    public EpochSeries getPerEpochAvRespTime()
     {
         return perEpochAverageRespTime;
     }
 
+    // delete the spill files of the per-epoch series once they are written out
+    public void discardSeries()
+    {
+        queueSizeAtEpochTimeout.discard();
+        perEpochAverageRespTime.discard();
+        perEpochArrivals.discard();
+    }
+
     public double getAverageResponseTime()
     {
         return (cumulativeJobResponseTime / (double) completedJobs);
     }
 
+    public void addEpochToBatches( int epochCompletedJobs, double epochLatency, double epochResponseTime )
+    {
+        completedJobsPerSecBatches.add( epochCompletedJobs, epochLatency );
+        responseTimeBatches.add( epochResponseTime, epochCompletedJobs );
+
+        if ( warmUp != null )
+        {
+            warmUp.add( epochCompletedJobs, epochLatency, epochResponseTime, lastQueueSize );
+            if ( warmUp.getEpochs() % WarmUp.BATCH == 0 )
+            {
+                warmUpTotals.add( new Totals( this, Clock.getInstance().getClock() ) );
+            }
+            var truncation = warmUp.check();
+            if ( truncation >= 0 )
+            {
+                deleteWarmUp( truncation );
+            }
+            else if ( warmUp.isExhausted() )
+            {
+                // the warm-up stays NaN and nothing is deleted
+                LOGGER.warn( String.format( "No warm-up truncation point in the first %s epochs, warm-up detection stopped", warmUp.getEpochs() ) );
+                warmUp = null;
+                warmUpTotals = null;
+            }
+        }
+    }
+
+    // drop everything recorded before the end of the warm-up epochs from the estimates, the per-epoch series are kept
+    private void deleteWarmUp( int epochs )
+    {
+        var totals = warmUpTotals.get( epochs / WarmUp.BATCH );
+        totallyFailedEpochs -= totals.totallyFailedEpochs;
+        completedEpochs -= totals.completedEpochs;
+        partialFailedEpochs -= totals.partialFailedEpochs;
+        completedJobs -= totals.completedJobs;
+        cumulativeEpochLatency -= totals.cumulativeEpochLatency;
+        failureEvents -= totals.failureEvents;
+        repairEvents -= totals.repairEvents;
+        cumulativeOperationalCommitGroups -= totals.cumulativeOperationalCommitGroups;
+        lostJobs -= totals.lostJobs;
+        failedEpochLostJobs -= totals.failedEpochLostJobs;
+        cumulativeJobResponseTime -= totals.cumulativeJobResponseTime;
+
+        completedJobsPerSecBatches = new BatchMeans();
+        responseTimeBatches = new BatchMeans();
+        // histograms cannot be rolled back to the truncation point, they restart from here
+        for ( var histogram : responseTimeByRetries )
+        {
+            histogram.reset();
+        }
+        epochLatencyHistogram.reset();
+        for ( int epoch = epochs; epoch < warmUp.getEpochs(); epoch++ )
+        {
+            completedJobsPerSecBatches.add( warmUp.getCompletedJobs( epoch ), warmUp.getLatency( epoch ) );
+            responseTimeBatches.add( warmUp.getResponseTime( epoch ), warmUp.getCompletedJobs( epoch ) );
+        }
+
+        LOGGER.info( String.format( "Warm-up of %s epoch(s) (%.5f secs) deleted after %s epochs", epochs, totals.time, warmUp.getEpochs() ) );
+        warmUpEpochs = epochs;
+        warmUpTime = totals.time;
+        warmUp = null;
+        warmUpTotals = null;
+    }
+
+    public void recordResponseTime( double responseTime, int retries )
+    {
+        responseTimeByRetries[Math.min( retries, RETRY_CLASSES - 1 )].recordValue( toMicros( responseTime ) );
+    }
+
+    public void recordEpochLatency( double latency )
+    {
+        epochLatencyHistogram.recordValue( toMicros( latency ) );
+    }
+
+    private static long toMicros( double secs )
+    {
+        return Math.min( Math.round( secs * 1e6 ), HIGHEST_TRACKABLE );
+    }
+
+    public Histogram getResponseTimeHistogram( int retryClass )
+    {
+        return responseTimeByRetries[retryClass];
+    }
+
+    public Histogram getEpochLatencyHistogram()
+    {
+        return epochLatencyHistogram;
+    }
+
+    public boolean isWarmedUp()
+    {
+        return warmUp == null;
+    }
+
+    // epochs and simulated time deleted as warm-up, NaN if detection was on and the warm-up did not end
+    public double getWarmUpEpochs()
+    {
+        return warmUpEpochs;
+    }
+
+    public double getWarmUpTime()
+    {
+        return warmUpTime;
+    }
+
+    public BatchMeans getCompletedJobsPerSecBatches()
+    {
+        return completedJobsPerSecBatches;
+    }
+
+    public double getCompletedJobsPerSecHalfWidth()
+    {
+        return completedJobsPerSecBatches.halfWidth();
+    }
+
+    public double getAverageResponseTimeHalfWidth()
+    {
+        return responseTimeBatches.halfWidth();
+    }
+
+    // the larger relative half-width of completed jobs/s and response time
+    public double getRelativePrecision()
+    {
+        return Math.max( getCompletedJobsPerSecHalfWidth() / getCompletedJobsPerSec(), getAverageResponseTimeHalfWidth() / getAverageResponseTime() );
+    }
+
+    public double getStopTime()
+    {
+        return stopTime;
+    }
+
+    public void setStopTime( double stopTime )
+    {
+        this.stopTime = stopTime;
+    }
+
     public void getSummary()
     {
         LOGGER.info( "Results: " );
@@ -234,10 +457,11 @@ public class Metrics
         // LOGGER.info( "  cumulative job response time: " + cumulativeJobResponseTime );
 
         // Metrics
-        LOGGER.info( String.format( "  complete jobs/ms: %.5f ", getCompletedJobsPerSec() / 1000.0 ) );
+        LOGGER.info( String.format( "  complete jobs/ms: %.5f +/- %.5f", getCompletedJobsPerSec() / 1000.0, getCompletedJobsPerSecHalfWidth() / 1000.0 ) );
         LOGGER.info( String.format( "  lost jobs/ms: %.5f ", getLostJobsPerSec() / 1000.0 ) );
         LOGGER.info( String.format( "  lost jobs/failure: %.5f", (double) failedEpochLostJobs / (double) failureEvents ) );
-        LOGGER.info( String.format( "  average response time (ms): %.5f", getAverageResponseTime() * 1000 ) );
+        LOGGER.info( String.format( "  average response time (ms): %.5f +/- %.5f", getAverageResponseTime() * 1000, getAverageResponseTimeHalfWidth() * 1000 ) );
+        LOGGER.info( String.format( "  batch means: %s batches of %s epoch(s)", completedJobsPerSecBatches.getBatches(), completedJobsPerSecBatches.getBatchSize() ) );
 
         var algo = Config.getInstance().getAlgorithm();
         if ( Objects.equals( algo, "multi" ) )
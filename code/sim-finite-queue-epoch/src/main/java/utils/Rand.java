@@ -1,30 +1,36 @@
 package utils;
 
-import org.apache.commons.math3.distribution.ExponentialDistribution;
-import org.apache.commons.math3.distribution.PoissonDistribution;
+import state.Job;
 
 import java.util.Random;
+import java.util.function.DoubleSupplier;
+import java.util.random.RandomGenerator;
 
 import static java.lang.Integer.MAX_VALUE;
 
 public class Rand
 {
-    private static final Rand instance = new Rand();
-
-    private final ExponentialDistribution transactionServiceRateDistribution;
-    private final ExponentialDistribution failureDistribution;
-    private final ExponentialDistribution repairDistribution;
-    private final ExponentialDistribution commitOperationDistribution;
-    private final ExponentialDistribution abortOperationDistribution;
-    private final ExponentialDistribution arrivalDistribution;
-    private final ExponentialDistribution epochTimeoutDistribution;
-
-    private final PoissonDistribution nonFailedTransactionDistribution;
-
-    private final Random remoteParticipantDistribution;
-    private final Random distributedTransactionDistribution;
-    private final Random nodeDistribution;
-    private final Random misc;
+    private static final SimulationContext.Key<Rand> instance = SimulationContext.key( Rand::new );
+
+    private final DoubleSupplier transactionServiceRateDistribution;
+    private final DoubleSupplier failureDistribution;
+    private final DoubleSupplier repairDistribution;
+    private final DoubleSupplier commitOperationDistribution;
+    private final DoubleSupplier abortOperationDistribution;
+    private final DoubleSupplier arrivalDistribution;
+    private final DoubleSupplier epochTimeoutDistribution;
+
+    private final RandomGenerator remoteParticipantDistribution;
+    private final RandomGenerator distributedTransactionDistribution;
+    private final RandomGenerator nodeDistribution;
+    private final RandomGenerator misc;
+
+    // with common random numbers every job draws its service times, distribution and dependencies from its own stream,
+    // split off in arrival order, so runs with the same seed see the same workload whatever the protocol does with it
+    private final boolean commonRandomNumbers;
+    private final RandomStreams streams;
+    private final RandomGenerator.SplittableGenerator jobStreams;
+    private final double transactionServiceRate;
 
     private final double epochSize;
     private final int clusterSize;
@@ -33,7 +39,7 @@ public class Rand
 
     public static Rand getInstance()
     {
-        return instance;
+        return SimulationContext.current().get( instance );
     }
 
     private Rand()
@@ -44,34 +50,6 @@ public class Rand
         this.distTxn = config.getPropDistributedTransactions();
         this.fixedEpochTimeout = config.isFixedEpochTimeout();
 
-        double transactionServiceRate = config.getTransactionServiceRateInSecs();
-        this.transactionServiceRateDistribution = new ExponentialDistribution( transactionServiceRate );
-
-        double repairRate = config.getRepairRateInSecs();
-        this.repairDistribution = new ExponentialDistribution( repairRate );
-
-        double failureRate = config.getFailureRateInSecs();
-        this.failureDistribution = new ExponentialDistribution( failureRate );
-
-        double commitOperationRate = config.getCommitOperationRateInSecs();
-        this.commitOperationDistribution = new ExponentialDistribution( commitOperationRate );
-
-        double abortOperationRate = config.getAbortOperationRateInSecs();
-        this.abortOperationDistribution = new ExponentialDistribution( abortOperationRate );
-
-        this.epochTimeoutDistribution = new ExponentialDistribution( epochSize );
-
-        double arrivalRate = config.getArrivalRateInSecs();
-        this.arrivalDistribution = new ExponentialDistribution( arrivalRate );
-
-        this.remoteParticipantDistribution = new Random();
-        this.distributedTransactionDistribution = new Random();
-        this.nodeDistribution = new Random();
-        this.misc = new Random();
-
-        var lambda = epochSize / transactionServiceRate;
-        this.nonFailedTransactionDistribution = new PoissonDistribution( lambda );
-
         long seedValue;
         if ( config.isSeedSet() )
         {
@@ -80,21 +58,30 @@ public class Rand
         else
         {
             // choose random seed
-            seedValue = misc.nextLong( 0, MAX_VALUE );
+            seedValue = new Random().nextLong( 0, MAX_VALUE );
             config.setSeedValue( seedValue );
         }
 
-        transactionServiceRateDistribution.reseedRandomGenerator( seedValue );
-        repairDistribution.reseedRandomGenerator( seedValue );
-        failureDistribution.reseedRandomGenerator( seedValue );
-        commitOperationDistribution.reseedRandomGenerator( seedValue );
-        abortOperationDistribution.reseedRandomGenerator( seedValue );
-        remoteParticipantDistribution.setSeed( seedValue );
-        distributedTransactionDistribution.setSeed( seedValue );
-        nodeDistribution.setSeed( seedValue );
-        nonFailedTransactionDistribution.reseedRandomGenerator( seedValue );
-        arrivalDistribution.reseedRandomGenerator( seedValue );
-        misc.setSeed( seedValue );
+        // streams are created in a fixed order so split streams are reproducible from the seed
+        var streams = RandomStreams.create( config.getRandomGenerator(), seedValue, config.isAntithetic(), config.isComplementary() );
+
+        this.transactionServiceRateDistribution = streams.exponential( config.getTransactionServiceRateInSecs() );
+        this.repairDistribution = streams.exponential( config.getRepairRateInSecs() );
+        this.failureDistribution = streams.exponential( config.getFailureRateInSecs() );
+        this.commitOperationDistribution = streams.exponential( config.getCommitOperationRateInSecs() );
+        this.abortOperationDistribution = streams.exponential( config.getAbortOperationRateInSecs() );
+        this.epochTimeoutDistribution = streams.exponential( epochSize );
+        this.arrivalDistribution = streams.exponential( config.getArrivalRateInSecs() );
+
+        this.remoteParticipantDistribution = streams.uniform();
+        this.distributedTransactionDistribution = streams.uniform();
+        this.nodeDistribution = streams.uniform();
+        this.misc = streams.uniform();
+
+        this.commonRandomNumbers = config.isCommonRandomNumbers();
+        this.streams = streams;
+        this.jobStreams = commonRandomNumbers ? streams.jobs() : null;
+        this.transactionServiceRate = config.getTransactionServiceRateInSecs();
     }
 
     public double generateNextEpochTimeout()
@@ -102,47 +89,78 @@ public class Rand
         var nextEpochTimeout = epochSize;
         if ( !fixedEpochTimeout )
         {
-            nextEpochTimeout = epochTimeoutDistribution.sample();
+            nextEpochTimeout = epochTimeoutDistribution.getAsDouble();
         }
         return nextEpochTimeout;
     }
 
     public double generateTransactionServiceTime()
     {
-        return transactionServiceRateDistribution.sample();
+        return transactionServiceRateDistribution.getAsDouble();
+    }
+
+    public double generateTransactionServiceTime( Job job )
+    {
+        if ( commonRandomNumbers )
+        {
+            return streams.exponential( job.getRandomStream(), transactionServiceRate );
+        }
+        return transactionServiceRateDistribution.getAsDouble();
+    }
+
+    public void assignRandomStream( Job job )
+    {
+        if ( commonRandomNumbers )
+        {
+            job.setRandomStream( streams.job( jobStreams ) );
+        }
     }
 
     public double generateNextArrivalTime()
     {
-        return arrivalDistribution.sample();
+        return arrivalDistribution.getAsDouble();
     }
 
     public double generateCommitOperationDuration()
     {
-        return commitOperationDistribution.sample();
+        return commitOperationDistribution.getAsDouble();
     }
 
     public double generateAbortOperationDuration()
     {
-        return abortOperationDistribution.sample();
+        return abortOperationDistribution.getAsDouble();
     }
 
     public double generateNextFailure()
     {
-        return failureDistribution.sample();
+        return failureDistribution.getAsDouble();
     }
 
     public double generateRepairTime()
     {
-        return repairDistribution.sample();
+        return repairDistribution.getAsDouble();
     }
 
     public int generateDependency( int thisNodeId, boolean affinity )
+    {
+        return generateDependency( misc, remoteParticipantDistribution, thisNodeId, affinity );
+    }
+
+    public int generateDependency( Job job, int thisNodeId, boolean affinity )
+    {
+        if ( commonRandomNumbers )
+        {
+            return generateDependency( job.getRandomStream(), job.getRandomStream(), thisNodeId, affinity );
+        }
+        return generateDependency( thisNodeId, affinity );
+    }
+
+    private int generateDependency( RandomGenerator affinityStream, RandomGenerator participantStream, int thisNodeId, boolean affinity )
     {
         int remoteParticipantId;
         if ( affinity )
         {
-            var n = misc.nextDouble();
+            var n = affinityStream.nextDouble();
             if ( n < 0.9 )
             {
                 if ( thisNodeId % 2 == 0 )
@@ -156,19 +174,19 @@ public class Rand
             }
             else
             {
-                remoteParticipantId = remoteParticipantDistribution.nextInt( 0, this.clusterSize );
+                remoteParticipantId = participantStream.nextInt( 0, this.clusterSize );
                 while ( remoteParticipantId == thisNodeId )
                 {
-                    remoteParticipantId = remoteParticipantDistribution.nextInt( 0, clusterSize );
+                    remoteParticipantId = participantStream.nextInt( 0, clusterSize );
                 }
             }
         }
         else
         {
-            remoteParticipantId = remoteParticipantDistribution.nextInt( 0, this.clusterSize );
+            remoteParticipantId = participantStream.nextInt( 0, this.clusterSize );
             while ( remoteParticipantId == thisNodeId )
             {
-                remoteParticipantId = remoteParticipantDistribution.nextInt( 0, clusterSize );
+                remoteParticipantId = participantStream.nextInt( 0, clusterSize );
             }
         }
         return remoteParticipantId;
@@ -185,4 +203,13 @@ public class Rand
 
         return sample < distTxn;
     }
+
+    public boolean isDistributedTransaction( Job job )
+    {
+        if ( commonRandomNumbers )
+        {
+            return job.getRandomStream().nextDouble() < distTxn;
+        }
+        return isDistributedTransaction();
+    }
 }
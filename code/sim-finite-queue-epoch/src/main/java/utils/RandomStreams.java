@@ -0,0 +1,166 @@
+package utils;
+
+import org.apache.commons.math3.distribution.ExponentialDistribution;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.DoubleSupplier;
+import java.util.random.RandomGenerator;
+
+// source of the random number streams used by Rand, one stream per distribution
+abstract class RandomStreams
+{
+    static RandomStreams create( String impl, long seedValue, boolean antithetic, boolean complementary )
+    {
+        if ( Objects.equals( impl, "well" ) )
+        {
+            if ( antithetic )
+            {
+                throw new IllegalArgumentException( "Antithetic replications need the splittable random number generator" );
+            }
+            return new Seeded( seedValue );
+        }
+        else if ( Objects.equals( impl, "splittable" ) )
+        {
+            return new Split( seedValue, antithetic, complementary );
+        }
+        else
+        {
+            throw new IllegalArgumentException( "Invalid random number generator: " + impl );
+        }
+    }
+
+    // exponentially distributed samples with the given mean
+    abstract DoubleSupplier exponential( double mean );
+
+    // one exponentially distributed sample from a stream handed out by these streams
+    abstract double exponential( RandomGenerator stream, double mean );
+
+    abstract RandomGenerator uniform();
+
+    // root of the per-job streams used for common random numbers
+    abstract RandomGenerator.SplittableGenerator jobs();
+
+    // a stream split off jobs() as this run draws from it
+    abstract RandomGenerator job( RandomGenerator.SplittableGenerator jobs );
+
+    // commons-math Well19937c and java.util.Random generators all seeded with the same value, the original behaviour
+    private static final class Seeded extends RandomStreams
+    {
+        private final long seedValue;
+
+        Seeded( long seedValue )
+        {
+            this.seedValue = seedValue;
+        }
+
+        @Override
+        DoubleSupplier exponential( double mean )
+        {
+            var distribution = new ExponentialDistribution( mean );
+            distribution.reseedRandomGenerator( seedValue );
+            return distribution::sample;
+        }
+
+        @Override
+        double exponential( RandomGenerator stream, double mean )
+        {
+            return mean * stream.nextExponential();
+        }
+
+        @Override
+        RandomGenerator uniform()
+        {
+            return new Random( seedValue );
+        }
+
+        @Override
+        RandomGenerator.SplittableGenerator jobs()
+        {
+            throw new IllegalArgumentException( "Common random numbers need the splittable random number generator" );
+        }
+
+        @Override
+        RandomGenerator job( RandomGenerator.SplittableGenerator jobs )
+        {
+            return jobs.split();
+        }
+    }
+
+    // independent SplittableRandom streams split off one seeded root, exponentials use the JDK ziggurat sampler.
+    // Antithetic runs sample exponentials by inversion instead, as the ziggurat is not monotone in its uniforms
+    private static final class Split extends RandomStreams
+    {
+        private final SplittableRandom root;
+        private final boolean antithetic;
+        private final boolean complementary;
+
+        Split( long seedValue, boolean antithetic, boolean complementary )
+        {
+            this.root = new SplittableRandom( seedValue );
+            this.antithetic = antithetic;
+            this.complementary = antithetic && complementary;
+        }
+
+        @Override
+        DoubleSupplier exponential( double mean )
+        {
+            if ( antithetic )
+            {
+                var stream = uniform();
+                return () -> exponential( stream, mean );
+            }
+            var stream = root.split();
+            return () -> mean * stream.nextExponential();
+        }
+
+        @Override
+        double exponential( RandomGenerator stream, double mean )
+        {
+            if ( antithetic )
+            {
+                return -mean * Math.log1p( -stream.nextDouble() );
+            }
+            return mean * stream.nextExponential();
+        }
+
+        @Override
+        RandomGenerator uniform()
+        {
+            return antithetic ? new Antithetic( root.split(), complementary ) : root.split();
+        }
+
+        @Override
+        RandomGenerator.SplittableGenerator jobs()
+        {
+            return root.split();
+        }
+
+        @Override
+        RandomGenerator job( RandomGenerator.SplittableGenerator jobs )
+        {
+            return antithetic ? new Antithetic( jobs.split(), complementary ) : jobs.split();
+        }
+    }
+
+    // both runs of an antithetic pair derive every draw from nextLong() so that the complementary run, which sees the
+    // complemented bits, gets 1 - u - 2^-53 from nextDouble() and mirrored integers wherever the other run gets u
+    private static final class Antithetic implements RandomGenerator
+    {
+        private final RandomGenerator stream;
+        private final long mask;
+
+        Antithetic( RandomGenerator stream, boolean complementary )
+        {
+            this.stream = stream;
+            this.mask = complementary ? -1L : 0L;
+        }
+
+        @Override
+        public long nextLong()
+        {
+            return stream.nextLong() ^ mask;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package utils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// process-wide sink for the output files. Writers on any thread queue rows and a single writer thread appends them,
+// so simulations never wait on the file system. Rows can be streamed, the writer thread then produces them straight
+// into the file in chunks, so a long series is never held in memory. Each append holds an exclusive lock on the file,
+// so several processes can share an output file, and the header is written under the same lock only if the file is
+// empty. The writer thread runs until the sink is closed, a later append starts a new one
+public class ResultsSink
+{
+    private static final ResultsSink instance = new ResultsSink();
+    private static final int CHUNK = 64 * 1024;
+    // queued by close(), the writer thread stops once it has written everything queued before it
+    private static final Append STOP = new Append( null, null, null, null );
+
+    private final BlockingQueue<Append> queue;
+    private Thread writer;
+
+    public interface Rows
+    {
+        void writeTo( OutputStream out ) throws IOException;
+    }
+
+    private static class Append
+    {
+        private final Path file;
+        private final byte[] header;
+        private final Rows rows;
+        private final Runnable action;
+
+        private Append( Path file, byte[] header, Rows rows, Runnable action )
+        {
+            this.file = file;
+            this.header = header;
+            this.rows = rows;
+            this.action = action;
+        }
+    }
+
+    private ResultsSink()
+    {
+        this.queue = new LinkedBlockingQueue<>();
+    }
+
+    public static ResultsSink getInstance()
+    {
+        return instance;
+    }
+
+    // rows are appended as one write, the header (null for none) only to an empty file
+    public void append( String file, String header, String rows )
+    {
+        append( file, header == null ? null : header.getBytes( StandardCharsets.UTF_8 ), rows.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    public void append( String file, byte[] header, byte[] rows )
+    {
+        append( file, header, out -> out.write( rows ) );
+    }
+
+    // rows are produced by the writer thread under the file lock, so whatever they read must not change until they
+    // are written
+    public void append( String file, byte[] header, Rows rows )
+    {
+        enqueue( new Append( Path.of( file ), header, rows, null ) );
+    }
+
+    // runs the action on the writer thread once everything queued so far is written
+    public void after( Runnable action )
+    {
+        enqueue( new Append( null, null, null, action ) );
+    }
+
+    // waits until everything queued so far is written
+    public void flush()
+    {
+        if ( writer == null )
+        {
+            return;
+        }
+        var flushed = new CountDownLatch( 1 );
+        after( flushed::countDown );
+        try
+        {
+            flushed.await();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // writes everything queued so far and stops the writer thread
+    public synchronized void close()
+    {
+        if ( writer == null )
+        {
+            return;
+        }
+        queue.add( STOP );
+        try
+        {
+            writer.join();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    private synchronized void enqueue( Append append )
+    {
+        if ( writer == null )
+        {
+            writer = new Thread( this::write, "results-sink" );
+            writer.setDaemon( true );
+            writer.start();
+        }
+        queue.add( append );
+    }
+
+    private void write()
+    {
+        List<Append> batch = new ArrayList<>();
+        while ( true )
+        {
+            try
+            {
+                batch.add( queue.take() );
+            }
+            catch ( InterruptedException e )
+            {
+                return;
+            }
+            queue.drainTo( batch );
+
+            // rows queued together for the same file go in one locked append, in order
+            var files = new LinkedHashMap<Path,List<Append>>();
+            for ( var append : batch )
+            {
+                if ( append.file != null )
+                {
+                    files.computeIfAbsent( append.file, file -> new ArrayList<>() ).add( append );
+                }
+            }
+            for ( var entry : files.entrySet() )
+            {
+                append( entry.getKey(), entry.getValue() );
+            }
+            for ( var append : batch )
+            {
+                if ( append.action != null )
+                {
+                    append.action.run();
+                }
+            }
+            if ( batch.contains( STOP ) )
+            {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private static void append( Path file, List<Append> appends )
+    {
+        try ( var channel = FileChannel.open( file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND );
+              var lock = channel.lock() )
+        {
+            var header = channel.size() == 0 ? appends.get( 0 ).header : null;
+            var out = new BufferedOutputStream( Channels.newOutputStream( channel ), CHUNK );
+            if ( header != null )
+            {
+                out.write( header );
+            }
+            for ( var append : appends )
+            {
+                append.rows.writeTo( out );
+            }
+            out.flush();
+        }
+        catch ( IOException e )
+        {
+            e.printStackTrace();
+        }
+    }
+}
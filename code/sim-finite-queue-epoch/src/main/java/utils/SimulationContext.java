@@ -0,0 +1,73 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// holds the simulation state (config, clock, event list, cluster, metrics, ...) of one run. Each thread has its own
+// context and every getInstance() resolves against it, so independent replications can run side by side in one JVM
+public class SimulationContext
+{
+    public static final class Key<T>
+    {
+        private final int index;
+        private final Supplier<T> factory;
+
+        private Key( int index, Supplier<T> factory )
+        {
+            this.index = index;
+            this.factory = factory;
+        }
+    }
+
+    private static final AtomicInteger keys = new AtomicInteger();
+    private static final ThreadLocal<SimulationContext> current = ThreadLocal.withInitial( SimulationContext::new );
+
+    private Object[] instances;
+
+    private SimulationContext()
+    {
+        this.instances = new Object[Math.max( 16, keys.get() )];
+    }
+
+    // register a per-run instance, the factory is called the first time the instance is requested in a context
+    public static <T> Key<T> key( Supplier<T> factory )
+    {
+        return new Key<>( keys.getAndIncrement(), factory );
+    }
+
+    public static SimulationContext current()
+    {
+        return current.get();
+    }
+
+    // start a new run on this thread with fresh instances
+    public static void reset()
+    {
+        current.set( new SimulationContext() );
+    }
+
+    // drop this thread's context once a run is done
+    public static void clear()
+    {
+        current.remove();
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public <T> T get( Key<T> key )
+    {
+        if ( key.index < instances.length && instances[key.index] != null )
+        {
+            return (T) instances[key.index];
+        }
+
+        // factories may request other instances from this context
+        var instance = key.factory.get();
+        if ( key.index >= instances.length )
+        {
+            instances = Arrays.copyOf( instances, Math.max( key.index + 1, instances.length * 2 ) );
+        }
+        instances[key.index] = instance;
+        return instance;
+    }
+}
@@ -0,0 +1,56 @@
+package utils;
+
+import event.AbstractEvent;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// original implementation, sorts the whole list on every poll
+class SortedEventQueue implements EventQueue
+{
+    private final LinkedList<AbstractEvent> eventList;
+
+    SortedEventQueue()
+    {
+        eventList = new LinkedList<>();
+    }
+
+    @Override
+    public void add( AbstractEvent event )
+    {
+        eventList.add( event );
+    }
+
+    @Override
+    public AbstractEvent poll()
+    {
+        Collections.sort( eventList );
+        return eventList.removeFirst();
+    }
+
+    @Override
+    public int size()
+    {
+        return eventList.size();
+    }
+
+    @Override
+    public int purge( Predicate<AbstractEvent> filter, Consumer<AbstractEvent> removed )
+    {
+        var count = 0;
+        var iterator = eventList.iterator();
+        while ( iterator.hasNext() )
+        {
+            var event = iterator.next();
+            if ( filter.test( event ) )
+            {
+                iterator.remove();
+                removed.accept( event );
+                count += 1;
+            }
+        }
+        return count;
+    }
+}
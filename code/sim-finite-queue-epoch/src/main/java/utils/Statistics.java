@@ -0,0 +1,57 @@
+package utils;
+
+import org.apache.commons.math3.distribution.TDistribution;
+
+// summary statistics across independent replications
+public class Statistics
+{
+    private static final double CONFIDENCE = 0.95;
+
+    private Statistics()
+    {
+
+    }
+
+    public static double mean( double[] values )
+    {
+        var sum = 0.0;
+        for ( var value : values )
+        {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    public static double variance( double[] values )
+    {
+        var mean = mean( values );
+        var sum = 0.0;
+        for ( var value : values )
+        {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / (values.length - 1);
+    }
+
+    // averages of consecutive pairs of values, antithetic replications are only independent as pairs
+    public static double[] pairMeans( double[] values )
+    {
+        var means = new double[values.length / 2];
+        for ( int i = 0; i < means.length; i++ )
+        {
+            means[i] = (values[2 * i] + values[2 * i + 1]) / 2;
+        }
+        return means;
+    }
+
+    // half-width of the 95% confidence interval for the mean (Student t), undefined for fewer than two values
+    public static double halfWidth( double[] values )
+    {
+        if ( values.length < 2 )
+        {
+            return Double.NaN;
+        }
+        var t = new TDistribution( values.length - 1 ).inverseCumulativeProbability( 1 - (1 - CONFIDENCE) / 2 );
+        return t * Math.sqrt( variance( values ) / values.length );
+    }
+}
@@ -0,0 +1,181 @@
+package utils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// parameter sweep specification, e.g. "p=single,multi;a=10:100:10". Each term sets one parameter to a list of values
+// or an inclusive start:end:step range, the points are the cartesian product with the first parameter outermost
+public class SweepSpec
+{
+    private static final List<String> PARAMETERS = List.of( "a", "p", "m", "xi", "lam" );
+    private static final List<String> PROTOCOLS = List.of( "single", "multi" );
+
+    // one point of the sweep, overrides the configured value of each swept parameter
+    public static class Point
+    {
+        private final Map<String,String> values;
+
+        Point( Map<String,String> values )
+        {
+            this.values = values;
+        }
+
+        public void apply( Config config )
+        {
+            for ( var entry : values.entrySet() )
+            {
+                var value = entry.getValue();
+                switch ( entry.getKey() )
+                {
+                case "a" -> config.setEpochTimeout( Double.parseDouble( value ) );
+                case "p" -> config.setAlgorithm( value );
+                case "m" -> config.setPropDistributedTransactions( Double.parseDouble( value ) / 100.0 );
+                case "xi" -> config.setFailureRate( Double.parseDouble( value ) );
+                case "lam" -> config.setArrivalRate( 1 / Double.parseDouble( value ) );
+                }
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return values.toString();
+        }
+    }
+
+    private SweepSpec()
+    {
+
+    }
+
+    // a sweep of one point that keeps the configured values
+    public static List<Point> none()
+    {
+        return List.of( new Point( Map.of() ) );
+    }
+
+    public static List<Point> parse( String spec )
+    {
+        Map<String,List<String>> parameters = new LinkedHashMap<>();
+        for ( var term : spec.split( ";" ) )
+        {
+            if ( term.isBlank() )
+            {
+                continue;
+            }
+            var parts = term.split( "=", 2 );
+            var name = parts[0].trim();
+            if ( parts.length != 2 || !PARAMETERS.contains( name ) )
+            {
+                throw new IllegalArgumentException( "Invalid sweep term: " + term + " (parameters are " + PARAMETERS + ")" );
+            }
+            var values = values( parts[1].trim() );
+            // fail before any point is run
+            if ( name.equals( "p" ) )
+            {
+                for ( var value : values )
+                {
+                    if ( !PROTOCOLS.contains( value ) )
+                    {
+                        throw new IllegalArgumentException( "Invalid sweep value for p: " + value + " (protocols are " + PROTOCOLS + ")" );
+                    }
+                }
+            }
+            else
+            {
+                for ( var value : values )
+                {
+                    try
+                    {
+                        Double.parseDouble( value );
+                    }
+                    catch ( NumberFormatException e )
+                    {
+                        throw new IllegalArgumentException( "Invalid sweep value for " + name + ": " + value );
+                    }
+                }
+            }
+            if ( parameters.put( name, values ) != null )
+            {
+                throw new IllegalArgumentException( "Parameter swept twice: " + name );
+            }
+        }
+        if ( parameters.isEmpty() )
+        {
+            throw new IllegalArgumentException( "Empty sweep: " + spec );
+        }
+
+        List<Point> points = new ArrayList<>();
+        expand( new ArrayList<>( parameters.entrySet() ), 0, new LinkedHashMap<>(), points );
+        return points;
+    }
+
+    private static void expand( List<Map.Entry<String,List<String>>> parameters, int index, Map<String,String> current, List<Point> points )
+    {
+        if ( index == parameters.size() )
+        {
+            points.add( new Point( new LinkedHashMap<>( current ) ) );
+            return;
+        }
+        var parameter = parameters.get( index );
+        for ( var value : parameter.getValue() )
+        {
+            current.put( parameter.getKey(), value );
+            expand( parameters, index + 1, current, points );
+        }
+        current.remove( parameter.getKey() );
+    }
+
+    private static List<String> values( String values )
+    {
+        List<String> list = new ArrayList<>();
+        if ( values.contains( ":" ) )
+        {
+            // decimal arithmetic so ranges like 0.1:0.5:0.1 include their end point
+            var range = values.split( ":" );
+            if ( range.length != 3 )
+            {
+                throw new IllegalArgumentException( "Invalid sweep range: " + values + " (expected start:end:step)" );
+            }
+            BigDecimal start;
+            BigDecimal end;
+            BigDecimal step;
+            try
+            {
+                start = new BigDecimal( range[0].trim() );
+                end = new BigDecimal( range[1].trim() );
+                step = new BigDecimal( range[2].trim() );
+            }
+            catch ( NumberFormatException e )
+            {
+                throw new IllegalArgumentException( "Invalid sweep range: " + values + " (expected start:end:step)" );
+            }
+            if ( step.signum() <= 0 )
+            {
+                throw new IllegalArgumentException( "Invalid sweep range step: " + values );
+            }
+            for ( var value = start; value.compareTo( end ) <= 0; value = value.add( step ) )
+            {
+                list.add( value.toPlainString() );
+            }
+        }
+        else
+        {
+            for ( var value : values.split( "," ) )
+            {
+                if ( !value.isBlank() )
+                {
+                    list.add( value.trim() );
+                }
+            }
+        }
+        if ( list.isEmpty() )
+        {
+            throw new IllegalArgumentException( "No values in sweep term: " + values );
+        }
+        return list;
+    }
+}
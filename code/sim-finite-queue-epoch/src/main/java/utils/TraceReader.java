@@ -0,0 +1,139 @@
+package utils;
+
+import event.EventType;
+import state.EpochState;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// decodes an EventTrace into one csv row per epoch on stdout
+// usage: java -cp sim-finite-queue-epoch-1.0-SNAPSHOT.jar utils.TraceReader <trace name>
+public class TraceReader
+{
+    private static final EventType[] TYPES = EventType.values();
+    private static final EpochState[] STATES = EpochState.values();
+
+    private int epoch = -1;
+    private double start;
+    private double end;
+    private final int[] events = new int[TYPES.length];
+    private final int[] states = new int[STATES.length];
+    private EventType lastEvent;
+    private long rows;
+    private final PrintStream out = new PrintStream( new BufferedOutputStream( new FileOutputStream( FileDescriptor.out ) ), false );
+
+    public static void main( String[] args ) throws IOException
+    {
+        new TraceReader().read( args[0] );
+    }
+
+    private void read( String name ) throws IOException
+    {
+        // the first segment is always written and its header gives the size of the ring
+        var first = segment( Path.of( EventTrace.segmentFile( name, 0 ) ) );
+        var segments = first.getInt( 24 );
+
+        // segments still in the ring, oldest first
+        List<ByteBuffer> buffers = new ArrayList<>();
+        buffers.add( first );
+        for ( int i = 1; i < segments; i++ )
+        {
+            var file = Path.of( EventTrace.segmentFile( name, i ) );
+            if ( Files.exists( file ) )
+            {
+                buffers.add( segment( file ) );
+            }
+        }
+        buffers.sort( Comparator.comparingLong( buffer -> buffer.getLong( 8 ) ) );
+        if ( !buffers.isEmpty() && buffers.get( 0 ).getLong( 8 ) > 0 )
+        {
+            System.err.println( "The oldest segments were overwritten, the first epoch is incomplete" );
+        }
+
+        var header = new StringBuilder( "epoch,start,end,events" );
+        for ( var type : TYPES )
+        {
+            header.append( ',' ).append( type.name().toLowerCase() );
+        }
+        for ( var state : STATES )
+        {
+            header.append( ",in_" ).append( state.name().toLowerCase() );
+        }
+        out.println( header.append( ",lastEvent" ) );
+
+        for ( var buffer : buffers )
+        {
+            var records = buffer.getInt( 16 );
+            var size = buffer.getInt( 20 );
+            for ( int r = 0; r < records; r++ )
+            {
+                var position = EventTrace.HEADER + r * size;
+                var time = buffer.getDouble( position );
+                var recordEpoch = buffer.getInt( position + 8 );
+                if ( recordEpoch != epoch )
+                {
+                    emit();
+                    epoch = recordEpoch;
+                    start = time;
+                }
+                end = time;
+                lastEvent = TYPES[buffer.get( position + 14 )];
+                events[lastEvent.ordinal()] += 1;
+                states[buffer.get( position + 15 )] += 1;
+            }
+        }
+        emit();
+        out.flush();
+        System.err.println( rows + " epochs" );
+    }
+
+    private static ByteBuffer segment( Path file ) throws IOException
+    {
+        try ( var channel = FileChannel.open( file ) )
+        {
+            var buffer = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size() );
+            var magic = new byte[EventTrace.MAGIC.length];
+            buffer.get( 0, magic );
+            if ( !Arrays.equals( magic, EventTrace.MAGIC ) )
+            {
+                throw new IOException( file + " is not an event trace segment" );
+            }
+            return buffer;
+        }
+    }
+
+    // one row per epoch: span, number of events by type and by the epoch state they were dispatched in, and the
+    // event that ended it
+    private void emit()
+    {
+        if ( epoch < 0 )
+        {
+            return;
+        }
+        var row = new StringBuilder().append( epoch ).append( ',' ).append( start ).append( ',' ).append( end ).append( ',' )
+                .append( Arrays.stream( events ).sum() );
+        for ( var count : events )
+        {
+            row.append( ',' ).append( count );
+        }
+        for ( var count : states )
+        {
+            row.append( ',' ).append( count );
+        }
+        out.println( row.append( ',' ).append( lastEvent.name().toLowerCase() ) );
+        Arrays.fill( events, 0 );
+        Arrays.fill( states, 0 );
+        rows += 1;
+    }
+}
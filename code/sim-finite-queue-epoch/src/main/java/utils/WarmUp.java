@@ -0,0 +1,140 @@
+package utils;
+
+import java.util.Arrays;
+
+// MSER-5 warm-up detection (White, 1997) over the per-epoch response time and queue size. Epochs are grouped into
+// batches of 5 and the truncation point is the number of leading batches whose deletion minimises the squared
+// standard error of the mean of the rest, accepted once it lies in the first half of the data. Checked each time the
+// number of epochs doubles so the total cost stays linear in the length of the warm-up. Detection gives up after
+// MAX_EPOCHS, so a run that never settles, e.g. an overloaded queue, does not keep every epoch in memory
+public class WarmUp
+{
+    public static final int BATCH = 5;
+    private static final int FIRST_CHECK = 20 * BATCH;
+    // the last check point, 204800 epochs
+    public static final int MAX_EPOCHS = FIRST_CHECK << 11;
+
+    private int epochs;
+    private int nextCheck;
+    private double[] completedJobs;
+    private double[] latency;
+    private double[] responseTime;
+    private double[] queueSize;
+
+    public WarmUp()
+    {
+        this.epochs = 0;
+        this.nextCheck = FIRST_CHECK;
+        this.completedJobs = new double[FIRST_CHECK];
+        this.latency = new double[FIRST_CHECK];
+        this.responseTime = new double[FIRST_CHECK];
+        this.queueSize = new double[FIRST_CHECK];
+    }
+
+    public void add( int epochCompletedJobs, double epochLatency, double epochResponseTime, int epochQueueSize )
+    {
+        if ( epochs == completedJobs.length )
+        {
+            completedJobs = Arrays.copyOf( completedJobs, epochs * 2 );
+            latency = Arrays.copyOf( latency, epochs * 2 );
+            responseTime = Arrays.copyOf( responseTime, epochs * 2 );
+            queueSize = Arrays.copyOf( queueSize, epochs * 2 );
+        }
+        completedJobs[epochs] = epochCompletedJobs;
+        latency[epochs] = epochLatency;
+        responseTime[epochs] = epochResponseTime;
+        queueSize[epochs] = epochQueueSize;
+        epochs += 1;
+    }
+
+    public int getEpochs()
+    {
+        return epochs;
+    }
+
+    // true once the last check point has passed without a truncation point
+    public boolean isExhausted()
+    {
+        return epochs >= MAX_EPOCHS;
+    }
+
+    // the warm-up in epochs, or -1 if it is not over yet or this is not a check point
+    public int check()
+    {
+        if ( epochs < nextCheck )
+        {
+            return -1;
+        }
+        nextCheck *= 2;
+
+        var batches = epochs / BATCH;
+        var response = new double[batches];
+        var queue = new double[batches];
+        for ( int b = 0; b < batches; b++ )
+        {
+            var completed = 0.0;
+            var responseSum = 0.0;
+            var queueSum = 0.0;
+            for ( int i = b * BATCH; i < (b + 1) * BATCH; i++ )
+            {
+                completed += completedJobs[i];
+                responseSum += responseTime[i];
+                queueSum += queueSize[i];
+            }
+            // a batch without completed jobs carries the previous response time
+            response[b] = completed > 0 ? responseSum / completed : (b > 0 ? response[b - 1] : 0.0);
+            queue[b] = queueSum / BATCH;
+        }
+
+        var responseTruncation = truncation( response );
+        var queueTruncation = truncation( queue );
+        if ( responseTruncation < 0 || queueTruncation < 0 )
+        {
+            return -1;
+        }
+        return Math.max( responseTruncation, queueTruncation ) * BATCH;
+    }
+
+    public double getCompletedJobs( int epoch )
+    {
+        return completedJobs[epoch];
+    }
+
+    public double getLatency( int epoch )
+    {
+        return latency[epoch];
+    }
+
+    public double getResponseTime( int epoch )
+    {
+        return responseTime[epoch];
+    }
+
+    // batches to delete, -1 when the minimum is in the second half of the data
+    static int truncation( double[] batches )
+    {
+        var n = batches.length;
+        var sum = 0.0;
+        var sumOfSquares = 0.0;
+        var best = -1;
+        var bestStatistic = Double.POSITIVE_INFINITY;
+        // suffix sums, from the last batch back, keeping at least two batches
+        for ( int d = n - 1; d >= 0; d-- )
+        {
+            sum += batches[d];
+            sumOfSquares += batches[d] * batches[d];
+            var kept = n - d;
+            if ( kept < 2 )
+            {
+                continue;
+            }
+            var statistic = (sumOfSquares - sum * sum / kept) / ((double) kept * kept);
+            if ( statistic <= bestStatistic )
+            {
+                bestStatistic = statistic;
+                best = d;
+            }
+        }
+        return best <= n / 2 ? best : -1;
+    }
+}
@@ -0,0 +1,92 @@
+package utils;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class WriteOutLatency
+{
+
+    public static void writeOutLatency( Config config, Metrics metrics )
+    {
+        writeOutLatency( config, List.of( metrics ) );
+    }
+
+    // one row per latency series of a run (all committed jobs, committed jobs by number of retries and committed
+    // epochs), the histograms of the replications are merged so the percentiles are over every replication (secs)
+    public static void writeOutLatency( Config config, List<Metrics> replications )
+    {
+        String header = "n,a,b,mu,xi,eta,kappa,algo,lambda,fixed,replications,series,count,mean,p50,p90,p99,p999,max";
+
+        var n = config.getClusterSize();
+        var a = config.getEpochTimeoutInMillis();
+        var b = config.getCommitOperationRateInMillis();
+        var mu = config.getTransactionServiceRateInMillis();
+        var xi = config.getFailureRateInMillis();
+        var eta = config.getRepairRateInMillis();
+        var kappa = config.getPropDistributedTransactions() * 100;
+        var algo = config.getAlgorithm();
+        var lam = config.getArrivalRateInMillis();
+        var fixed = config.isFixedEpochTimeout();
+        String params = String.format( "%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s", n, a, b, mu, xi, eta, kappa, algo, lam, fixed, replications.size() );
+
+        Map<String,Histogram> series = new LinkedHashMap<>();
+        var all = merged( replications, null );
+        series.put( "response", all );
+        for ( int retries = 0; retries < Metrics.RETRY_CLASSES; retries++ )
+        {
+            var name = retries == Metrics.RETRY_CLASSES - 1 ? "response_r" + retries + "+" : "response_r" + retries;
+            series.put( name, merged( replications, retries ) );
+        }
+        var epochs = replications.get( 0 ).getEpochLatencyHistogram().copy();
+        for ( int i = 1; i < replications.size(); i++ )
+        {
+            epochs.add( replications.get( i ).getEpochLatencyHistogram() );
+        }
+        series.put( "epoch", epochs );
+
+        StringBuilder rows = new StringBuilder();
+        for ( var entry : series.entrySet() )
+        {
+            var histogram = entry.getValue();
+            rows.append( String.format( "%s,%s,%s,%.6f,%.6f,%.6f,%.6f,%.6f,%.6f", params, entry.getKey(), histogram.getTotalCount(),
+                    secs( histogram.getMean() ), secs( histogram.getValueAtPercentile( 50 ) ), secs( histogram.getValueAtPercentile( 90 ) ),
+                    secs( histogram.getValueAtPercentile( 99 ) ), secs( histogram.getValueAtPercentile( 99.9 ) ), secs( histogram.getMaxValue() ) ) );
+            rows.append( "\n" );
+        }
+
+        ResultsSink.getInstance().append( "latency.csv", header + "\n", rows.toString() );
+    }
+
+    // response times of every replication for one retry class, or all classes when null
+    private static Histogram merged( List<Metrics> replications, Integer retryClass )
+    {
+        Histogram histogram = null;
+        for ( var metrics : replications )
+        {
+            for ( int i = 0; i < Metrics.RETRY_CLASSES; i++ )
+            {
+                if ( retryClass != null && retryClass != i )
+                {
+                    continue;
+                }
+                if ( histogram == null )
+                {
+                    histogram = metrics.getResponseTimeHistogram( i ).copy();
+                }
+                else
+                {
+                    histogram.add( metrics.getResponseTimeHistogram( i ) );
+                }
+            }
+        }
+        return histogram;
+    }
+
+    private static double secs( double micros )
+    {
+        return micros / 1e6;
+    }
+}
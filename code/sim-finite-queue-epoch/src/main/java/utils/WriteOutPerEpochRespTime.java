@@ -1,10 +1,5 @@
 package utils;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-
 public class WriteOutPerEpochRespTime
 {
 
@@ -13,63 +8,6 @@ public class WriteOutPerEpochRespTime
 
         var queue = metrics.getPerEpochAvRespTime();
 
-        StringBuilder sb = new StringBuilder();
-        for ( int i = 0; i < queue.size(); i++ )
-        {
-            sb.append( queue.get( i ) );
-            if ( i != queue.size() - 1 )
-            {
-                sb.append( "," );
-            }
-        }
-
-        String format = String.format( "%s", sb );
-
-        BufferedWriter outputStream = null;
-        FileWriter fileWriter;
-        try
-        {
-            File file = new File( "perEpochRespTime.csv" );
-            if ( !file.exists() )
-            {
-                fileWriter = new FileWriter( file, true );
-                outputStream = new BufferedWriter( fileWriter );
-                outputStream.append( format );
-                outputStream.append( "\n" );
-            }
-            else
-            {
-                fileWriter = new FileWriter( file, true );
-                outputStream = new BufferedWriter( fileWriter );
-                try
-                {
-                    outputStream.append( format );
-                    outputStream.append( "\n" );
-                }
-                catch ( IOException e )
-                {
-                    e.printStackTrace();
-                }
-            }
-        }
-        catch ( IOException e )
-        {
-            e.printStackTrace();
-        }
-        finally
-        {
-            if ( outputStream != null )
-            {
-                try
-                {
-                    outputStream.flush();
-                    outputStream.close();
-                }
-                catch ( IOException e )
-                {
-                    e.printStackTrace();
-                }
-            }
-        }
+        ResultsSink.getInstance().append( "perEpochRespTime.csv", null, out -> queue.writeCsv( "", out ) );
     }
 }
@@ -1,21 +1,30 @@
 package utils;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
 
 public class WriteOutResults
 {
 
     public static void writeOutResults( Config config, Metrics metrics, double realTime, double simulationTime )
+    {
+        writeOutResults( config, List.of( metrics ), realTime, simulationTime );
+    }
+
+    // one row per run, metrics are averaged over the replications with the 95% confidence interval half-width of the
+    // main metrics in the trailing columns. Antithetic pairs count as one replication each and fewer than two give NaN,
+    // a single replication gets batch means half-widths for completed jobs and response time and NaN for the others
+    public static void writeOutResults( Config config, List<Metrics> replications, double realTime, double simulationTime )
     {
 
         String[] headers = {"n", "a", "b", "mu", "xi", "eta", "kappa", "algo", "lambda", "fixed",
                             "completedJobPs", "lostJobsPs", "lostJobsPf", "avOpCommitGroupsPf", "avRespTime",
                             "completedEp", "failedEp", "partialEp", "failureEvents",
                             "totalCompletedJobs", "totalLostJobs", "totalOpCommitGroupsPf",
-                            "realTime", "simTime"};
+                            "realTime", "simTime", "replications",
+                            "completedJobPsCi", "lostJobsPsCi", "lostJobsPfCi", "avOpCommitGroupsPfCi", "avRespTimeCi",
+                            "precision", "stopTime", "warmUpEpochs", "warmUpTime"};
 
         StringBuilder headerStringBuilder = new StringBuilder();
         for ( String header : headers )
@@ -42,73 +51,82 @@ public class WriteOutResults
         String params = String.format( "%s,%s,%s,%s,%s,%s,%s,%s,%s,%s", n, a, b, mu, xi, eta, kappa, algo, lam, fixed );
 
         // main metrics
-        var completedJobPs = metrics.getCompletedJobsPerSec();
-        var lostJobsPs = metrics.getLostJobsPerSec();
-        var lostJobsPf = metrics.getLostJobsPerFailure();
-        var avOpCommitGroupsPf = metrics.getAverageNumberOfOperationalCommitGroupsPerFailure();
-        var avRespTime = metrics.getAverageResponseTime();
-        String main = String.format( "%.4f,%.4f,%.4f,%.4f,%.4f", completedJobPs, lostJobsPs, lostJobsPf, avOpCommitGroupsPf, avRespTime );
+        var completedJobPs = values( replications, Metrics::getCompletedJobsPerSec );
+        var lostJobsPs = values( replications, Metrics::getLostJobsPerSec );
+        var lostJobsPf = values( replications, Metrics::getLostJobsPerFailure );
+        var avOpCommitGroupsPf = values( replications, Metrics::getAverageNumberOfOperationalCommitGroupsPerFailure );
+        var avRespTime = values( replications, Metrics::getAverageResponseTime );
+        String main = String.format( "%.4f,%.4f,%.4f,%.4f,%.4f", Statistics.mean( completedJobPs ), Statistics.mean( lostJobsPs ),
+                Statistics.mean( lostJobsPf ), Statistics.mean( avOpCommitGroupsPf ), Statistics.mean( avRespTime ) );
+        var single = replications.size() == 1;
+        var antithetic = config.isAntithetic();
+        var completedJobPsCi = single ? replications.get( 0 ).getCompletedJobsPerSecHalfWidth() : halfWidth( completedJobPs, antithetic );
+        var lostJobsPsCi = single ? Double.NaN : halfWidth( lostJobsPs, antithetic );
+        var lostJobsPfCi = single ? Double.NaN : halfWidth( lostJobsPf, antithetic );
+        var avOpCommitGroupsPfCi = single ? Double.NaN : halfWidth( avOpCommitGroupsPf, antithetic );
+        var avRespTimeCi = single ? replications.get( 0 ).getAverageResponseTimeHalfWidth() : halfWidth( avRespTime, antithetic );
+        String ci = String.format( "%.4f,%.4f,%.4f,%.4f,%.4f", completedJobPsCi, lostJobsPsCi, lostJobsPfCi, avOpCommitGroupsPfCi, avRespTimeCi );
 
-        // raw metrics
-        var completedEpochs = metrics.getCompletedEpochs();
-        var failedEpochs = metrics.getTotallyFailedEpochs();
-        var partialEpochs = metrics.getPartialFailedEpochs();
-        var failureEvents = metrics.getFailureEvents();
-        var totalCompletedJobs = metrics.getCompletedJobs();
-        var totalLostJobs = metrics.getLostJobs();
-        var totalOpCommitGroupsPf = metrics.getCumulativeOperationalCommitGroupsPerFailure();
-        String raw = String.format( "%s,%s,%s,%s,%s,%s,%s",
-                completedEpochs, failedEpochs, partialEpochs, failureEvents,
-                totalCompletedJobs, totalLostJobs, totalOpCommitGroupsPf );
+        // relative precision of the batch means and simulated time each run stopped at, and the deleted warm-up (NaN if
+        // the warm-up did not end), averaged over the replications
+        String stop = String.format( "%.6f,%.4f,%.1f,%.4f", Statistics.mean( values( replications, Metrics::getRelativePrecision ) ),
+                Statistics.mean( values( replications, Metrics::getStopTime ) ), Statistics.mean( values( replications, Metrics::getWarmUpEpochs ) ),
+                Statistics.mean( values( replications, Metrics::getWarmUpTime ) ) );
 
-        BufferedWriter outputStream = null;
-        FileWriter fileWriter;
-        try
-        {
-            File file = new File( "results.csv" );
-            String format = String.format( "%s,%s,%s,%.4f,%.4f", params, main, raw, realTime, simulationTime );
-            if ( !file.exists() )
-            {
-                fileWriter = new FileWriter( file, true );
-                outputStream = new BufferedWriter( fileWriter );
-                outputStream.append( headerString );
-                outputStream.append( "\n" );
-                outputStream.append( format );
-                outputStream.append( "\n" );
-            }
-            else
-            {
-                fileWriter = new FileWriter( file, true );
-                outputStream = new BufferedWriter( fileWriter );
-                try
-                {
-                    outputStream.append( format );
-                    outputStream.append( "\n" );
-                }
-                catch ( IOException e )
-                {
-                    e.printStackTrace();
-                }
-            }
-        }
-        catch ( IOException e )
+        // raw metrics, whole numbers for a single replication
+        var rawFormat = replications.size() == 1 ? "%.0f" : "%.2f";
+        var completedEpochs = values( replications, Metrics::getCompletedEpochs );
+        var failedEpochs = values( replications, Metrics::getTotallyFailedEpochs );
+        var partialEpochs = values( replications, Metrics::getPartialFailedEpochs );
+        var failureEvents = values( replications, Metrics::getFailureEvents );
+        var totalCompletedJobs = values( replications, Metrics::getCompletedJobs );
+        var totalLostJobs = values( replications, Metrics::getLostJobs );
+        var totalOpCommitGroupsPf = values( replications, Metrics::getCumulativeOperationalCommitGroupsPerFailure );
+        String raw = String.format( String.join( ",", Collections.nCopies( 7, rawFormat ) ),
+                Statistics.mean( completedEpochs ), Statistics.mean( failedEpochs ), Statistics.mean( partialEpochs ), Statistics.mean( failureEvents ),
+                Statistics.mean( totalCompletedJobs ), Statistics.mean( totalLostJobs ), Statistics.mean( totalOpCommitGroupsPf ) );
+
+        if ( config.isColumnarOutput() )
         {
-            e.printStackTrace();
+            // same columns as results.csv at full precision
+            new ColumnarFile( "results.col", config.isCompressOutput() ).block( 1 )
+                    .longs( "n", n ).doubles( "a", a ).doubles( "b", b ).doubles( "mu", mu ).doubles( "xi", xi ).doubles( "eta", eta )
+                    .doubles( "kappa", kappa ).strings( "algo", algo ).doubles( "lambda", lam ).strings( "fixed", String.valueOf( fixed ) )
+                    .doubles( "completedJobPs", Statistics.mean( completedJobPs ) ).doubles( "lostJobsPs", Statistics.mean( lostJobsPs ) )
+                    .doubles( "lostJobsPf", Statistics.mean( lostJobsPf ) ).doubles( "avOpCommitGroupsPf", Statistics.mean( avOpCommitGroupsPf ) )
+                    .doubles( "avRespTime", Statistics.mean( avRespTime ) )
+                    .doubles( "completedEp", Statistics.mean( completedEpochs ) ).doubles( "failedEp", Statistics.mean( failedEpochs ) )
+                    .doubles( "partialEp", Statistics.mean( partialEpochs ) ).doubles( "failureEvents", Statistics.mean( failureEvents ) )
+                    .doubles( "totalCompletedJobs", Statistics.mean( totalCompletedJobs ) ).doubles( "totalLostJobs", Statistics.mean( totalLostJobs ) )
+                    .doubles( "totalOpCommitGroupsPf", Statistics.mean( totalOpCommitGroupsPf ) )
+                    .doubles( "realTime", realTime ).doubles( "simTime", simulationTime ).longs( "replications", replications.size() )
+                    .doubles( "completedJobPsCi", completedJobPsCi ).doubles( "lostJobsPsCi", lostJobsPsCi )
+                    .doubles( "lostJobsPfCi", lostJobsPfCi ).doubles( "avOpCommitGroupsPfCi", avOpCommitGroupsPfCi )
+                    .doubles( "avRespTimeCi", avRespTimeCi )
+                    .doubles( "precision", Statistics.mean( values( replications, Metrics::getRelativePrecision ) ) )
+                    .doubles( "stopTime", Statistics.mean( values( replications, Metrics::getStopTime ) ) )
+                    .doubles( "warmUpEpochs", Statistics.mean( values( replications, Metrics::getWarmUpEpochs ) ) )
+                    .doubles( "warmUpTime", Statistics.mean( values( replications, Metrics::getWarmUpTime ) ) )
+                    .append();
         }
-        finally
+        if ( !config.isCsvOutput() )
         {
-            if ( outputStream != null )
-            {
-                try
-                {
-                    outputStream.flush();
-                    outputStream.close();
-                }
-                catch ( IOException e )
-                {
-                    e.printStackTrace();
-                }
-            }
+            return;
         }
+
+        String format = String.format( "%s,%s,%s,%.4f,%.4f,%s,%s,%s", params, main, raw, realTime, simulationTime, replications.size(), ci, stop );
+        ResultsSink.getInstance().append( "results.csv", headerString + "\n", format + "\n" );
+    }
+
+    // over the independent samples, the pair means when antithetic, NaN for fewer than two
+    private static double halfWidth( double[] values, boolean antithetic )
+    {
+        var samples = antithetic ? Statistics.pairMeans( values ) : values;
+        return samples.length < 2 ? Double.NaN : Statistics.halfWidth( samples );
+    }
+
+    private static double[] values( List<Metrics> replications, ToDoubleFunction<Metrics> metric )
+    {
+        return replications.stream().mapToDouble( metric ).toArray();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package utils;
+
+public class WriteOutSeries
+{
+
+    // one series.col block per per-epoch series of a replication (queue size, average response time and arrivals),
+    // the run parameters, series name and sampling are block attributes and the values a single column
+    public static void writeOutSeries( Config config, Metrics metrics, int replication )
+    {
+        var file = new ColumnarFile( "series.col", config.isCompressOutput() );
+        writeOutSeries( config, file, replication, "queue", metrics.getQueueSizeAtEpochTimeout() );
+        writeOutSeries( config, file, replication, "respTime", metrics.getPerEpochAvRespTime() );
+        writeOutSeries( config, file, replication, "arrivals", metrics.getPerEpochArrivals() );
+    }
+
+    private static void writeOutSeries( Config config, ColumnarFile file, int replication, String name, EpochSeries series )
+    {
+        file.block( Math.toIntExact( series.size() ) )
+                .attribute( "n", config.getClusterSize() )
+                .attribute( "a", config.getEpochTimeoutInMillis() )
+                .attribute( "b", config.getCommitOperationRateInMillis() )
+                .attribute( "mu", config.getTransactionServiceRateInMillis() )
+                .attribute( "xi", config.getFailureRateInMillis() )
+                .attribute( "eta", config.getRepairRateInMillis() )
+                .attribute( "kappa", config.getPropDistributedTransactions() * 100 )
+                .attribute( "algo", config.getAlgorithm() )
+                .attribute( "lambda", config.getArrivalRateInMillis() )
+                .attribute( "fixed", config.isFixedEpochTimeout() )
+                .attribute( "replication", replication )
+                .attribute( "series", name )
+                .attribute( "sampling", series.getSampling() )
+                .column( "value", series.isIntegral() ? 'L' : 'D', series::writeBinary )
+                .append();
+    }
+}
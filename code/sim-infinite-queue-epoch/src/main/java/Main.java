@@ -75,6 +75,12 @@ public class Main implements Callable<Integer>
     @Option( names = {"-fe", "--fixedEpoch"}, description = "Fixed or random epoch timeout" )
     private String fixedEpochTimeout = "true";
 
+    @Option( names = {"-pp", "--pipelined"}, description = "Execute the next epoch whilst an epoch commits" )
+    private String pipelined = "false";
+
+    @Option( names = {"-el", "--eventListImpl"}, description = "Event list implementation (heap, calendar or sort)" )
+    private String eventListImpl = "heap";
+
     @Override
     public Integer call()
     {
@@ -92,6 +98,8 @@ public class Main implements Callable<Integer>
         config.setPropDistributedTransactions( (double) distTxn / 100.0 );
         config.setAffinity( Boolean.parseBoolean( affinity ) );
         config.setFixedEpochTimeout( Boolean.parseBoolean( fixedEpochTimeout ) );
+        config.setEventListImpl( eventListImpl );
+        config.setPipelined( Boolean.parseBoolean( pipelined ) );
 
         // global variables
         var rand = Rand.getInstance();
@@ -139,6 +147,7 @@ public class Main implements Callable<Integer>
         metrics.getSummary( config, cluster );
         var realTime = (end - start) / 1000.0;
         LOGGER.info( "Real time (secs): " + String.format( "%.5f", realTime ) );
+        LOGGER.info( "Stale events cancelled: " + eventList.getCancelledEvents() );
         LOGGER.info( "Simulation completed!" );
         LOGGER.info( "--------------------" );
         LOGGER.info( "" );
@@ -173,7 +182,8 @@ public class Main implements Callable<Integer>
             switch ( eventType )
             {
             case TRANSACTION_COMPLETED -> TransactionAction.execute( (TransactionEvent) nextEvent, cluster, config, eventList, rand );
-            case EPOCH_TIMEOUT -> EpochTimeoutAction.timeout( (EpochTimeoutEvent) nextEvent, cluster, config, eventList, rand );
+            case EPOCH_TIMEOUT -> EpochTimeoutAction.timeout( (EpochTimeoutEvent) nextEvent, cluster, config, eventList, rand, metrics,
+                    failureRepairEventList );
             case COMMIT_COMPLETED -> CommitOperationAction.commit( (CommitOperationEvent) nextEvent,
                     cluster, config, eventList, rand, metrics, failureRepairEventList );
             case ABORT_COMPLETED -> AbortOperationAction.abort( (AbortOperationEvent) nextEvent,
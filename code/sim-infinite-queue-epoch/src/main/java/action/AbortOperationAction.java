@@ -19,13 +19,28 @@ public class AbortOperationAction
         // an abort implies a total failure of an epoch
         var thisEventTime = event.getEventTime();
 
-        // record latency, lost jobs, and summary of epoch
-        cluster.totalFailure( metrics, thisEventTime );
+        // record latency, lost jobs, and summary of epoch, pipelined: an epoch aborted only because an older one
+        // aborted is not a failed cycle
+        if ( cluster.isCascadingAbort() && !cluster.epochContainsFailureEvent() )
+        {
+            cluster.cascadedFailure( metrics, thisEventTime );
+        }
+        else
+        {
+            cluster.totalFailure( metrics, thisEventTime );
+        }
 
         // reset 2PC ready flags, completed jobs, and lost jobs
         cluster.resetClusterState( config, metrics );
 
         // skip or generate next epoch
-        Common.skipOrGenerateNextEpoch( thisEventTime, rand, eventList, cluster, config, failureRepairEventList );
+        if ( config.isPipelined() )
+        {
+            Common.skipOrGenerateNextPipelinedEpoch( thisEventTime, rand, eventList, cluster, config, failureRepairEventList, false );
+        }
+        else
+        {
+            Common.skipOrGenerateNextEpoch( thisEventTime, rand, eventList, cluster, config, failureRepairEventList );
+        }
     }
 }
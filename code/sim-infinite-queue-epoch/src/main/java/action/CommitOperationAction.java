@@ -18,6 +18,12 @@ public class CommitOperationAction
     public static void commit( CommitOperationEvent event, Cluster cluster, Config config, EventList eventList, Rand rand, Metrics metrics,
                                FailureRepairEventList failureRepairEventList )
     {
+        if ( config.isPipelined() )
+        {
+            commitPipelined( event, cluster, config, eventList, rand, metrics );
+            return;
+        }
+
         // epoch terminates due to failure and abort event completed before the commit event
         var currentEpoch = cluster.getCurrentEpoch();
         var originEpoch = event.getEpoch();
@@ -60,5 +66,27 @@ public class CommitOperationAction
         }
         }
     }
+
+    // the oldest committing epoch has committed, the next one in line starts its commit
+    private static void commitPipelined( CommitOperationEvent event, Cluster cluster, Config config, EventList eventList, Rand rand, Metrics metrics )
+    {
+        // the epoch aborted whilst committing
+        var committing = cluster.getCommittingEpochs().peekFirst();
+        if ( committing == null || committing.getEpoch() != event.getEpoch() )
+        {
+            return;
+        }
+
+        var thisEventTime = event.getEventTime();
+        cluster.getCommittingEpochs().removeFirst();
+        var failedMembers = cluster.completeCommittingEpoch( committing, metrics, config );
+        cluster.taint( failedMembers );
+
+        var next = cluster.getCommittingEpochs().peekFirst();
+        if ( next != null )
+        {
+            Common.startCommit( next, cluster, config, eventList, rand, metrics, thisEventTime );
+        }
+    }
 }
 
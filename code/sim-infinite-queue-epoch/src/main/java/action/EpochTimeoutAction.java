@@ -8,14 +8,23 @@ import state.NodeState;
 import utils.Common;
 import utils.Config;
 import utils.EventList;
+import utils.FailureRepairEventList;
+import utils.Metrics;
 import utils.Rand;
 
 import java.util.Objects;
 
 public class EpochTimeoutAction
 {
-    public static void timeout( EpochTimeoutEvent event, Cluster cluster, Config config, EventList eventList, Rand rand )
+    public static void timeout( EpochTimeoutEvent event, Cluster cluster, Config config, EventList eventList, Rand rand, Metrics metrics,
+                                FailureRepairEventList failureRepairEventList )
     {
+        if ( config.isPipelined() )
+        {
+            timeoutPipelined( event, cluster, config, eventList, rand, metrics, failureRepairEventList );
+            return;
+        }
+
         var currentEpoch = event.getEpoch();
         var thisEventTime = event.getEventTime();
 
@@ -49,4 +58,47 @@ public class EpochTimeoutAction
             cluster.setCurrentEpochState( EpochState.WAITING );
         }
     }
+
+    // the epoch commits whilst the next one executes, nodes do not wait for their in-flight transactions
+    private static void timeoutPipelined( EpochTimeoutEvent event, Cluster cluster, Config config, EventList eventList, Rand rand, Metrics metrics,
+                                          FailureRepairEventList failureRepairEventList )
+    {
+        // the epoch aborted before it timed out
+        if ( event.getEpoch() != cluster.getCurrentEpoch() || cluster.getCurrentEpochState() != EpochState.PROCESSING )
+        {
+            return;
+        }
+
+        var thisEventTime = event.getEventTime();
+
+        // single: an epoch with a failure aborts as it does without pipelining, no older epoch is still committing
+        // as the failure would have aborted it
+        if ( !Objects.equals( config.getAlgorithm(), "multi" ) && cluster.epochContainsFailureEvent() )
+        {
+            Common.transitionToAborting( cluster, eventList, rand, thisEventTime, event.getEpoch() );
+            return;
+        }
+
+        // skipped: no failures or repairs, generate the completed jobs per operational node
+        var skipped = cluster.isSkipped();
+        if ( skipped )
+        {
+            for ( int i = 0; i < config.getClusterSize(); i++ )
+            {
+                if ( cluster.getNodeState( i ) == NodeState.OPERATIONAL )
+                {
+                    cluster.incCompletedJobs( i, rand.getCompletedJobs() );
+                }
+            }
+        }
+
+        var closed = cluster.closeEpoch( thisEventTime, config );
+        Common.skipOrGenerateNextPipelinedEpoch( thisEventTime, rand, eventList, cluster, config, failureRepairEventList, !skipped );
+
+        // commit now unless an older epoch is still committing
+        if ( cluster.getCommittingEpochs().size() == 1 )
+        {
+            Common.startCommit( closed, cluster, config, eventList, rand, metrics, thisEventTime );
+        }
+    }
 }
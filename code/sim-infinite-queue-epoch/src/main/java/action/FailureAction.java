@@ -4,6 +4,7 @@ import event.EventType;
 import event.FailureEvent;
 import event.RepairEvent;
 import state.Cluster;
+import state.CommittingEpoch;
 import state.NodeState;
 import utils.Common;
 import utils.Config;
@@ -26,7 +27,14 @@ public class FailureAction
         var currentEpoch = cluster.getCurrentEpoch();
 
         metrics.incFailureEvents();
-        cluster.recordFailureEvent( thisNodeId, thisEventTime );
+
+        // pipelined: whilst an older epoch is committing the failure belongs to it, the younger epochs lose the node's
+        // work when it commits or aborts
+        var committing = config.isPipelined() ? cluster.getCommittingEpochs().peekFirst() : null;
+        if ( committing == null )
+        {
+            cluster.recordFailureEvent( thisNodeId, thisEventTime );
+        }
 
         switch ( cluster.getCurrentEpochState() )
         {
@@ -74,10 +82,27 @@ public class FailureAction
         case ABORTING -> cluster.setNodeState( thisNodeId, NodeState.CRASHED );
         }
 
+        if ( committing != null )
+        {
+            failCommittingEpoch( committing, thisNodeId, thisEventTime, cluster, eventList, rand, metrics, config );
+        }
+
         generateRepairEvent( thisNodeId, currentEpoch, thisEventTime, rand, eventList, failureRepairEventList );
         generateNextFailureEvent( thisEventTime, rand, eventList, cluster, failureRepairEventList );
     }
 
+    private static void failCommittingEpoch( CommittingEpoch committing, int thisNodeId, double thisEventTime, Cluster cluster, EventList eventList,
+                                             Rand rand, Metrics metrics, Config config )
+    {
+        committing.recordFailureEvent( thisNodeId );
+
+        // single: the committing epoch aborts, multi: only if it has no operational commit group left
+        if ( !Objects.equals( config.getAlgorithm(), "multi" ) || committing.getNumberOfOperationalCommitGroups() == 0 )
+        {
+            Common.transitionToCascadingAbort( cluster, eventList, rand, metrics, thisEventTime );
+        }
+    }
+
     private static void generateRepairEvent( int thisNodeId, int currentEpoch, double thisEventTime, Rand rand, EventList eventList,
                                              FailureRepairEventList failureRepairEventList )
     {
@@ -20,7 +20,10 @@ public class TransactionAction
         var originEpoch = event.getEpoch();
         var thisNodeId = event.getNodeId();
 
-        if ( originEpoch < currentEpoch )
+        // pipelined: a transaction still in flight when its epoch times out completes in the next one, unless
+        // transactions stopped since it started, for a skipped epoch or an abort
+        var stale = config.isPipelined() ? originEpoch < cluster.getStreamEpoch() || cluster.isSkipped() : originEpoch < currentEpoch;
+        if ( stale )
         {
             return;
         }
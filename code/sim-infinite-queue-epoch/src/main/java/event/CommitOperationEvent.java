@@ -1,6 +1,6 @@
 package event;
 
-public class CommitOperationEvent extends AbstractEvent
+public class CommitOperationEvent extends AbstractEvent implements EpochEvent
 {
     private final int epoch;
 
@@ -10,6 +10,7 @@ public class CommitOperationEvent extends AbstractEvent
         this.epoch = epoch;
     }
 
+    @Override
     public int getEpoch()
     {
         return epoch;
@@ -0,0 +1,8 @@
+package event;
+
+// events that are ignored once the epoch they were generated in has ended, these can be cancelled in bulk by the
+// event list when the cluster moves to a new epoch
+public interface EpochEvent
+{
+    int getEpoch();
+}
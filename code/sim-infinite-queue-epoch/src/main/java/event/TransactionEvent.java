@@ -1,6 +1,6 @@
 package event;
 
-public class TransactionEvent extends AbstractEvent
+public class TransactionEvent extends AbstractEvent implements EpochEvent
 {
     private final int nodeId;
     private final int epoch;
@@ -17,6 +17,7 @@ public class TransactionEvent extends AbstractEvent
         return nodeId;
     }
 
+    @Override
     public int getEpoch()
     {
         return epoch;
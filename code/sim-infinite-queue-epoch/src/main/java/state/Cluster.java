@@ -1,16 +1,17 @@
 package state;
 
-import org.jgrapht.Graph;
-import org.jgrapht.alg.connectivity.BiconnectivityInspector;
-import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.graph.SimpleGraph;
 import utils.Clock;
 import utils.Config;
+import utils.EventList;
 import utils.Metrics;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -56,14 +57,24 @@ public class Cluster
     List<Integer> lostCompletedJobs;
 
     List<NodeState> nodeStates;
+    int[] nodeStateCounts; // number of nodes in each state
     Set<Failure> nodeFailureSet;
     Set<Integer> nodeRepairSet;
     boolean skipped;
-    Graph<Integer,DefaultEdge> dependencyGraph;
+    DisjointSets dependencySets;
     Map<Integer,CommitGroup> commitGroupMap;
     boolean clusterDown;
     int numCommitGroupsAtFailure;
 
+    // pipelined mode: timed out epochs in commit order, the first is committing and the rest wait for it
+    Deque<CommittingEpoch> committingEpochs;
+    // nodes in a failed commit group of a committing epoch, their work in this epoch read uncommitted writes
+    boolean[] tainted;
+    // transactions generated before this epoch belong to a stream stopped by a skip or an abort
+    int streamEpoch;
+    // the current epoch is aborting because an older epoch aborted
+    boolean cascadingAbort;
+
     private Cluster()
     {
         this.start = 0.0;
@@ -78,22 +89,27 @@ public class Cluster
         this.lostCompletedJobs = new ArrayList<>();
 
         this.nodeStates = new ArrayList<>();
+        this.nodeStateCounts = new int[NodeState.values().length];
         this.nodeFailureSet = new HashSet<>();
         this.nodeRepairSet = new HashSet<>();
-        dependencyGraph = new SimpleGraph<>( DefaultEdge.class );
+        this.dependencySets = new DisjointSets( clusterSize );
         this.commitGroupMap = new HashMap<>();
         this.clusterDown = false;
         this.numCommitGroupsAtFailure = 0;
+        this.committingEpochs = new ArrayDeque<>();
+        this.tainted = new boolean[clusterSize];
+        this.streamEpoch = 0;
+        this.cascadingAbort = false;
 
         for ( int i = 0; i < clusterSize; i++ )
         {
-            dependencyGraph.addVertex( i );
             completedJobs.add( 0 );
             jobsLostAccessingCrashedNodes.add( 0 );
             jobsLostInFlight.add( 0 );
             lostCompletedJobs.add( 0 );
             nodeStates.add( NodeState.OPERATIONAL );
         }
+        nodeStateCounts[NodeState.OPERATIONAL.ordinal()] = clusterSize;
     }
 
     public static Cluster getInstance()
@@ -138,10 +154,7 @@ public class Cluster
 
     public void addDependency( int nodeA, int nodeB )
     {
-        if ( !this.dependencyGraph.containsEdge( nodeA, nodeB ) )
-        {
-            this.dependencyGraph.addEdge( nodeA, nodeB );
-        }
+        dependencySets.union( nodeA, nodeB );
     }
 
     public EpochState getCurrentEpochState()
@@ -156,16 +169,8 @@ public class Cluster
 
     public boolean areAllOperationalNodesReadyToCommit( Config config )
     {
-        for ( int i = 0; i < config.getClusterSize(); i++ )
-        {
-            var nodeState = getNodeState( i );
-            if ( nodeState == NodeState.OPERATIONAL )
-            {
-                return false; // one node is not ready yet
-            }
-        }
-
-        return true;
+        assert nodeStateCountsMatchScan();
+        return nodeStateCounts[NodeState.OPERATIONAL.ordinal()] == 0;
     }
 
     private boolean isMultipleFailures()
@@ -286,6 +291,7 @@ public class Cluster
         }
 
         currentEpoch += 1; // increment epoch
+        EventList.getInstance().cancelEpochsBefore( currentEpoch ); // drop events from the previous epoch
 //        var v = Math.floor( Clock.getInstance().getClock() );
 //        if ( v % (60 * 60) == 0 )
 //        {
@@ -301,19 +307,209 @@ public class Cluster
         var algo = config.getAlgorithm();
         if ( Objects.equals( algo, "multi" ) )
         {
-            Graph<Integer,DefaultEdge> clean = new SimpleGraph<>( DefaultEdge.class );
-
-            for ( int i = 0; i < clusterSize; i++ )
-            {
-                clean.addVertex( i );
-            }
-            this.dependencyGraph = clean;
+            dependencySets.reset();
             this.commitGroupMap = new HashMap<>();
             this.nodeFailureSet = new HashSet<>();
         }
 
         this.nodeFailureSet.clear(); // clear trackers
         this.nodeRepairSet.clear();
+        Arrays.fill( tainted, false );
+        this.cascadingAbort = false;
+    }
+
+    public Deque<CommittingEpoch> getCommittingEpochs()
+    {
+        return committingEpochs;
+    }
+
+    public int getStreamEpoch()
+    {
+        return streamEpoch;
+    }
+
+    public void setStreamEpoch( int streamEpoch )
+    {
+        this.streamEpoch = streamEpoch;
+    }
+
+    public boolean isCascadingAbort()
+    {
+        return cascadingAbort;
+    }
+
+    public void setCascadingAbort( boolean cascadingAbort )
+    {
+        this.cascadingAbort = cascadingAbort;
+    }
+
+    /**
+     * Pipelined mode: record the current epoch aborting because an older epoch aborted. It is not a failed cycle, its
+     * jobs are only counted as lost to the cascade
+     */
+    public void cascadedFailure( Metrics metrics, double endEventTime )
+    {
+        metrics.incCascadingAbortedEpochs();
+        metrics.incCumulativeLatency( endEventTime - this.start );
+        this.start = endEventTime;
+
+        metrics.incCascadingLostJobs( jobsLostAccessingCrashedNodes.stream().mapToInt( a -> a ).sum() +
+                                      jobsLostInFlight.stream().mapToInt( a -> a ).sum() +
+                                      lostCompletedJobs.stream().mapToInt( a -> a ).sum() +
+                                      completedJobs.stream().mapToInt( a -> a ).sum() );
+    }
+
+    /**
+     * Pipelined mode: the current epoch has timed out, queue it to commit and start the next epoch straight away.
+     * Node states carry over, and so do in-flight transactions, which complete in the next epoch.
+     */
+    public CommittingEpoch closeEpoch( double end, Config config )
+    {
+        var clusterSize = config.getClusterSize();
+        var completed = new int[clusterSize];
+        var crashed = new boolean[clusterSize];
+        for ( int i = 0; i < clusterSize; i++ )
+        {
+            completed[i] = completedJobs.get( i );
+        }
+        for ( var failure : nodeFailureSet )
+        {
+            crashed[failure.nodeId] = true;
+        }
+
+        List<CommitGroup> commitGroups = new ArrayList<>();
+        if ( Objects.equals( config.getAlgorithm(), "multi" ) )
+        {
+            computeCommitGroups();
+            commitGroups.addAll( commitGroupMap.values() );
+        }
+
+        var closed = new CommittingEpoch( currentEpoch, start, end, completed,
+                jobsLostAccessingCrashedNodes.stream().mapToInt( a -> a ).sum(),
+                jobsLostInFlight.stream().mapToInt( a -> a ).sum(),
+                commitGroups, crashed, tainted.clone(), nodeFailureSet.size() );
+        committingEpochs.addLast( closed );
+
+        // the next epoch starts now
+        for ( int i = 0; i < clusterSize; i++ )
+        {
+            completedJobs.set( i, 0 );
+            jobsLostAccessingCrashedNodes.set( i, 0 );
+            jobsLostInFlight.set( i, 0 );
+            lostCompletedJobs.set( i, 0 );
+        }
+        currentEpoch += 1;
+        currentEpochState = EpochState.PROCESSING;
+        start = end;
+        skipped = false;
+        dependencySets.reset();
+        commitGroupMap = new HashMap<>();
+        nodeFailureSet.clear();
+        nodeRepairSet.clear();
+        Arrays.fill( tainted, false );
+        return closed;
+    }
+
+    /**
+     * Pipelined mode: record a committing epoch that aborts. An epoch with a failure of its own is a failed cycle, one
+     * without aborts because it read the uncommitted writes of an older epoch and only counts as cascaded
+     */
+    public void abortCommittingEpoch( CommittingEpoch committing, Metrics metrics )
+    {
+        metrics.incCumulativeLatency( committing.getEnd() - committing.getStart() );
+        var totalCompletedJobs = Arrays.stream( committing.getCompletedJobs() ).sum();
+        if ( !committing.containsFailureEvent() )
+        {
+            metrics.incCascadingAbortedEpochs();
+            metrics.incCascadingLostJobs( committing.getJobsLostAccessingCrashedNodes() + committing.getJobsLostInFlight() + totalCompletedJobs );
+            return;
+        }
+
+        if ( Objects.equals( "multi", Config.getInstance().getAlgorithm() ) )
+        {
+            metrics.incOperationalCommitGroups( committing.getNumberOfOperationalCommitGroups() );
+        }
+
+        metrics.incTotallyFailedEpochs();
+        metrics.incCyclesWithFailures();
+        if ( committing.getFailures() > 1 )
+        {
+            metrics.incCyclesWithMultipleFailures();
+        }
+
+        metrics.incLostAccessingCrashedNode( committing.getJobsLostAccessingCrashedNodes() );
+        metrics.incLostInFlightJobs( committing.getJobsLostInFlight() );
+        metrics.incLostCompletedJobs( totalCompletedJobs );
+    }
+
+    /**
+     * Pipelined mode: record a committing epoch whose commit has completed. Returns the members of its commit groups
+     * that failed on a crash, whose work in the younger epochs is lost with them. Groups that only lost tainted work
+     * are not returned, the epochs younger than them were tainted by the same commit
+     */
+    public boolean[] completeCommittingEpoch( CommittingEpoch committing, Metrics metrics, Config config )
+    {
+        var completed = committing.getCompletedJobs();
+        var failedMembers = new boolean[completed.length];
+        var lost = 0;
+        var cascadingLost = 0;
+        for ( var commitGroup : committing.getCommitGroups() )
+        {
+            var crashed = CommittingEpoch.containsNode( commitGroup, committing.getCrashed() );
+            if ( crashed || CommittingEpoch.containsNode( commitGroup, committing.getTainted() ) )
+            {
+                for ( var member : commitGroup.getMembers() )
+                {
+                    failedMembers[member] |= crashed;
+                    lost += completed[member];
+                    cascadingLost += crashed ? 0 : completed[member];
+                }
+            }
+        }
+
+        var multi = Objects.equals( config.getAlgorithm(), "multi" );
+        if ( multi && committing.containsFailureEvent() )
+        {
+            metrics.incOperationalCommitGroups( committing.getNumberOfOperationalCommitGroups() );
+        }
+
+        // work only lost to the failed groups of an older epoch is not attributed to a failure of this one
+        var totalCompletedJobs = Arrays.stream( completed ).sum() - lost;
+        if ( multi && committing.containsFailureEvent() )
+        {
+            metrics.incPartiallyFailedEpochs();
+            metrics.incCyclesWithFailures();
+            if ( committing.getFailures() > 1 )
+            {
+                metrics.incCyclesWithMultipleFailures();
+            }
+            metrics.incCommittedTransactionsDuringFailures( totalCompletedJobs );
+        }
+        else
+        {
+            metrics.incCompletedEpochs();
+        }
+        metrics.incCascadingLostJobs( cascadingLost );
+
+        metrics.incCumulativeLatency( committing.getEnd() - committing.getStart() );
+        metrics.incLostAccessingCrashedNode( committing.getJobsLostAccessingCrashedNodes() );
+        metrics.incLostInFlightJobs( committing.getJobsLostInFlight() );
+        metrics.incLostCompletedJobs( lost - cascadingLost );
+        metrics.incCompletedTransactions( totalCompletedJobs );
+        return failedMembers;
+    }
+
+    // the work of these nodes in every younger epoch is lost when it commits
+    public void taint( boolean[] nodes )
+    {
+        for ( var committing : committingEpochs )
+        {
+            committing.taint( nodes );
+        }
+        for ( int i = 0; i < nodes.length; i++ )
+        {
+            tainted[i] |= nodes[i];
+        }
     }
 
     public void setCurrentEpochState( EpochState currentEpochState )
@@ -348,19 +544,28 @@ public class Cluster
 
     public void setNodeState( int nodeId, NodeState state )
     {
-        this.nodeStates.set( nodeId, state );
+        var previous = this.nodeStates.set( nodeId, state );
+        nodeStateCounts[previous.ordinal()] -= 1;
+        nodeStateCounts[state.ordinal()] += 1;
 
-        // check is system is down
-        for ( var nodeState : nodeStates )
+        // check is system is down, once down it stays down
+        if ( nodeStateCounts[NodeState.CRASHED.ordinal()] == nodeStates.size() )
         {
-            if ( nodeState != NodeState.CRASHED )
-            {
-                // at least 1 node is up
-                return;
-            }
+            clusterDown = true;
         }
 
-        clusterDown = true;
+        assert nodeStateCountsMatchScan();
+    }
+
+    // full scan cross-check of the incremental state counts, only run with assertions enabled (-ea)
+    private boolean nodeStateCountsMatchScan()
+    {
+        var counts = new int[nodeStateCounts.length];
+        for ( var nodeState : nodeStates )
+        {
+            counts[nodeState.ordinal()] += 1;
+        }
+        return Arrays.equals( counts, nodeStateCounts );
     }
 
     public NodeState getNodeState( int nodeId )
@@ -370,14 +575,17 @@ public class Cluster
 
     public void computeCommitGroups()
     {
+        // one commit group per dependency set, members in node id order
+        Map<Integer,List<Integer>> membersByRoot = new LinkedHashMap<>();
+        for ( int nodeId = 0; nodeId < dependencySets.size(); nodeId++ )
+        {
+            membersByRoot.computeIfAbsent( dependencySets.find( nodeId ), root -> new ArrayList<>() ).add( nodeId );
+        }
+
         Map<Integer,CommitGroup> commitGroups = new HashMap<>();
-        var scAlgo = new BiconnectivityInspector<>( dependencyGraph );
-        var connectedComponents = scAlgo.getConnectedComponents();
         int commitGroupId = 0;
-
-        for ( var component : connectedComponents )
+        for ( var members : membersByRoot.values() )
         {
-            var members = component.vertexSet();
             var commitGroup = new CommitGroup( commitGroupId, members );
             commitGroups.put( commitGroupId, commitGroup );
             commitGroupId += 1;
@@ -467,7 +675,6 @@ public class Cluster
                ", completedJobs=" + completedJobs +
                ", nodeStates=" + nodeStates +
                ", failures=" + nodeFailureSet +
-               ", dependencyGraph=" + dependencyGraph +
                ", commitGroupMap=" + commitGroupMap +
                '}';
     }
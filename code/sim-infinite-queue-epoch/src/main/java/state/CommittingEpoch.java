@@ -0,0 +1,140 @@
+package state;
+
+import java.util.List;
+
+// pipelined mode: an epoch that has timed out and is committing, or is queued to commit behind an older epoch, whilst
+// the cluster executes the next one. Holds what the cluster tracked for the epoch when it timed out
+public class CommittingEpoch
+{
+    private final int epoch;
+    private final double start;
+    private final double end;
+    private final int[] completedJobs;
+    private final int jobsLostAccessingCrashedNodes;
+    private final int jobsLostInFlight;
+    private final List<CommitGroup> commitGroups; // multi only
+    private final boolean[] crashed; // failed during the epoch or its commit
+    private final boolean[] tainted; // in a failed commit group of an older epoch
+    private int failures;
+
+    CommittingEpoch( int epoch, double start, double end, int[] completedJobs, int jobsLostAccessingCrashedNodes, int jobsLostInFlight,
+                     List<CommitGroup> commitGroups, boolean[] crashed, boolean[] tainted, int failures )
+    {
+        this.epoch = epoch;
+        this.start = start;
+        this.end = end;
+        this.completedJobs = completedJobs;
+        this.jobsLostAccessingCrashedNodes = jobsLostAccessingCrashedNodes;
+        this.jobsLostInFlight = jobsLostInFlight;
+        this.commitGroups = commitGroups;
+        this.crashed = crashed;
+        this.tainted = tainted;
+        this.failures = failures;
+    }
+
+    public int getEpoch()
+    {
+        return epoch;
+    }
+
+    public boolean containsFailureEvent()
+    {
+        return failures > 0;
+    }
+
+    public void recordFailureEvent( int failedNodeId )
+    {
+        crashed[failedNodeId] = true;
+        failures += 1;
+    }
+
+    public void taint( boolean[] nodes )
+    {
+        for ( int i = 0; i < nodes.length; i++ )
+        {
+            tainted[i] |= nodes[i];
+        }
+    }
+
+    public int getNumberOfOperationalCommitGroups()
+    {
+        int operationalCommitGroups = 0;
+        for ( var commitGroup : commitGroups )
+        {
+            if ( !containsNode( commitGroup, crashed ) && !containsNode( commitGroup, tainted ) )
+            {
+                operationalCommitGroups += 1;
+            }
+        }
+        return operationalCommitGroups;
+    }
+
+    double getStart()
+    {
+        return start;
+    }
+
+    double getEnd()
+    {
+        return end;
+    }
+
+    int[] getCompletedJobs()
+    {
+        return completedJobs;
+    }
+
+    int getJobsLostAccessingCrashedNodes()
+    {
+        return jobsLostAccessingCrashedNodes;
+    }
+
+    int getJobsLostInFlight()
+    {
+        return jobsLostInFlight;
+    }
+
+    List<CommitGroup> getCommitGroups()
+    {
+        return commitGroups;
+    }
+
+    boolean[] getCrashed()
+    {
+        return crashed;
+    }
+
+    boolean[] getTainted()
+    {
+        return tainted;
+    }
+
+    int getFailures()
+    {
+        return failures;
+    }
+
+    static boolean containsNode( CommitGroup commitGroup, boolean[] nodes )
+    {
+        for ( var member : commitGroup.getMembers() )
+        {
+            if ( nodes[member] )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "{" +
+               "epoch=" + epoch +
+               ", start=" + String.format( "%.3f", start ) +
+               ", end=" + String.format( "%.3f", end ) +
+               ", failures=" + failures +
+               ", commitGroups=" + commitGroups +
+               '}';
+    }
+}
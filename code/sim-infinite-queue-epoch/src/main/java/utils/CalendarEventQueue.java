@@ -0,0 +1,308 @@
+package utils;
+
+import event.AbstractEvent;
+
+import java.util.function.Predicate;
+
+// calendar queue (Brown, 1988), events are hashed into buckets of a fixed width "day" by their time and each bucket
+// is kept sorted by time then insertion order. The number of buckets follows the queue size and the bucket width is
+// re-estimated from the gaps between the earliest events whenever the calendar is resized or performs poorly
+class CalendarEventQueue implements EventQueue
+{
+    private static final int MIN_BUCKETS = 16;
+    private static final int SAMPLE_SIZE = 25;
+    private static final int CHECK_INTERVAL = 256;
+
+    private static final class Entry
+    {
+        AbstractEvent event;
+        double time;
+        long seq;
+        Entry next;
+    }
+
+    private Entry[] buckets;
+    private int mask;
+    private double width;
+
+    private int size;
+    private long nextSequence;
+
+    // virtual bucket (floor of time / width) of the last removed event, no queued event is in an earlier one
+    private long currentBucket;
+    private double lastTime;
+
+    // counters used to decide when the bucket width needs re-tuning
+    private int polls;
+    private int directSearches;
+    private long insertSteps;
+    private int inserts;
+
+    CalendarEventQueue()
+    {
+        this.buckets = new Entry[MIN_BUCKETS];
+        this.mask = MIN_BUCKETS - 1;
+        this.width = 1.0;
+        this.size = 0;
+        this.nextSequence = 0;
+        this.currentBucket = 0;
+        this.lastTime = 0;
+    }
+
+    @Override
+    public void add( AbstractEvent event )
+    {
+        var entry = new Entry();
+        entry.event = event;
+        entry.time = event.getEventTime();
+        entry.seq = nextSequence++;
+
+        // events scheduled in the past of the calendar are treated as due now
+        if ( entry.time < lastTime )
+        {
+            currentBucket = Math.min( currentBucket, virtualBucket( entry.time ) );
+            lastTime = entry.time;
+        }
+
+        insert( entry );
+        size += 1;
+        inserts += 1;
+
+        if ( size > 2 * buckets.length )
+        {
+            resize( buckets.length * 2 );
+        }
+    }
+
+    @Override
+    public AbstractEvent poll()
+    {
+        if ( size == 0 )
+        {
+            return null;
+        }
+
+        var entry = removeFirst();
+        size -= 1;
+        polls += 1;
+        lastTime = entry.time;
+
+        if ( size < buckets.length / 2 && buckets.length > MIN_BUCKETS )
+        {
+            resize( buckets.length / 2 );
+        }
+        else if ( polls >= Math.max( CHECK_INTERVAL, buckets.length ) )
+        {
+            checkWidth();
+        }
+
+        return entry.event;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public int purge( Predicate<AbstractEvent> filter )
+    {
+        var removed = 0;
+        for ( int i = 0; i < buckets.length; i++ )
+        {
+            Entry kept = null;
+            Entry tail = null;
+            for ( var entry = buckets[i]; entry != null; entry = entry.next )
+            {
+                if ( filter.test( entry.event ) )
+                {
+                    removed += 1;
+                }
+                else if ( tail == null )
+                {
+                    kept = entry;
+                    tail = entry;
+                }
+                else
+                {
+                    tail.next = entry;
+                    tail = entry;
+                }
+            }
+            if ( tail != null )
+            {
+                tail.next = null;
+            }
+            buckets[i] = kept;
+        }
+        size -= removed;
+
+        if ( size < buckets.length / 2 && buckets.length > MIN_BUCKETS )
+        {
+            resize( Math.max( MIN_BUCKETS, Integer.highestOneBit( Math.max( 1, size ) ) ) );
+        }
+        return removed;
+    }
+
+    private Entry removeFirst()
+    {
+        // walk one lap of the calendar looking for an event in the current "year"
+        var bucket = currentBucket;
+        for ( int i = 0; i < buckets.length; i++ )
+        {
+            var index = (int) (bucket & mask);
+            var head = buckets[index];
+            if ( head != null && virtualBucket( head.time ) == bucket )
+            {
+                buckets[index] = head.next;
+                currentBucket = bucket;
+                return head;
+            }
+            bucket += 1;
+        }
+
+        // nothing due within a lap, fall back to the earliest bucket head
+        directSearches += 1;
+        var min = -1;
+        for ( int i = 0; i < buckets.length; i++ )
+        {
+            var head = buckets[i];
+            if ( head != null && (min < 0 || isBefore( head, buckets[min] )) )
+            {
+                min = i;
+            }
+        }
+        var head = buckets[min];
+        buckets[min] = head.next;
+        currentBucket = virtualBucket( head.time );
+        return head;
+    }
+
+    private void insert( Entry entry )
+    {
+        var index = (int) (virtualBucket( entry.time ) & mask);
+        var head = buckets[index];
+        if ( head == null || isBefore( entry, head ) )
+        {
+            entry.next = head;
+            buckets[index] = entry;
+            return;
+        }
+
+        var previous = head;
+        while ( previous.next != null && !isBefore( entry, previous.next ) )
+        {
+            previous = previous.next;
+            insertSteps += 1;
+        }
+        entry.next = previous.next;
+        previous.next = entry;
+    }
+
+    private void checkWidth()
+    {
+        // too many empty laps means buckets are too narrow, long bucket scans on insert means they are too wide
+        if ( directSearches * 4 > polls || insertSteps > 4L * inserts )
+        {
+            resize( buckets.length );
+        }
+        else
+        {
+            resetCounters();
+        }
+    }
+
+    private void resize( int bucketCount )
+    {
+        var old = buckets;
+
+        // take the earliest queued events as a sample of the current inter-event gaps
+        var sample = new double[Math.min( SAMPLE_SIZE, size )];
+        var sampled = 0;
+        for ( var head : old )
+        {
+            for ( var entry = head; entry != null; entry = entry.next )
+            {
+                if ( sampled < sample.length )
+                {
+                    sampled += 1;
+                }
+                else if ( entry.time >= sample[sampled - 1] )
+                {
+                    break;
+                }
+                var i = sampled - 1;
+                while ( i > 0 && sample[i - 1] > entry.time )
+                {
+                    sample[i] = sample[i - 1];
+                    i -= 1;
+                }
+                sample[i] = entry.time;
+            }
+        }
+        width = estimateWidth( sample, sampled );
+
+        buckets = new Entry[bucketCount];
+        mask = bucketCount - 1;
+        currentBucket = virtualBucket( lastTime );
+        for ( var head : old )
+        {
+            var entry = head;
+            while ( entry != null )
+            {
+                var next = entry.next;
+                entry.next = null;
+                insert( entry );
+                entry = next;
+            }
+        }
+        resetCounters();
+    }
+
+    private double estimateWidth( double[] sample, int sampled )
+    {
+        if ( sampled < 2 )
+        {
+            return width;
+        }
+
+        // average gap, ignoring gaps more than twice the average, times three
+        var total = sample[sampled - 1] - sample[0];
+        var average = total / (sampled - 1);
+        var sum = 0.0;
+        var count = 0;
+        for ( int i = 1; i < sampled; i++ )
+        {
+            var gap = sample[i] - sample[i - 1];
+            if ( gap <= 2 * average )
+            {
+                sum += gap;
+                count += 1;
+            }
+        }
+        if ( count == 0 || sum <= 0 )
+        {
+            return width;
+        }
+        return 3 * sum / count;
+    }
+
+    private void resetCounters()
+    {
+        polls = 0;
+        directSearches = 0;
+        insertSteps = 0;
+        inserts = 0;
+    }
+
+    private long virtualBucket( double time )
+    {
+        return (long) Math.floor( time / width );
+    }
+
+    private static boolean isBefore( Entry entry, Entry other )
+    {
+        return entry.time < other.time || (entry.time == other.time && entry.seq < other.seq);
+    }
+}
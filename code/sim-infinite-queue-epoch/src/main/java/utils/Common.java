@@ -7,9 +7,12 @@ import event.EventType;
 import event.TransactionEvent;
 import org.apache.log4j.Logger;
 import state.Cluster;
+import state.CommittingEpoch;
 import state.EpochState;
 import state.NodeState;
 
+import java.util.Objects;
+
 public class Common
 {
     private final static Logger LOGGER = Logger.getLogger( Common.class.getName() );
@@ -56,6 +59,72 @@ public class Common
         }
     }
 
+    /**
+     * Pipelined mode: the current epoch started at thisEventTime. It is skipped if there is no failure or repair before
+     * it times out, its commit is always simulated. Transactions in flight from the previous epoch carry over into this
+     * one, if there are none (after a skip or an abort) new ones are generated for the operational nodes
+     */
+    public static void skipOrGenerateNextPipelinedEpoch( double thisEventTime, Rand rand, EventList eventList, Cluster cluster, Config config,
+                                                         FailureRepairEventList failureRepairEventList, boolean inFlight )
+    {
+        var nextEpochTimeoutEvent = thisEventTime + rand.generateNextEpochTimeout();
+        var currentEpoch = cluster.getCurrentEpoch();
+        eventList.addEvent( new EpochTimeoutEvent( nextEpochTimeoutEvent, EventType.EPOCH_TIMEOUT, currentEpoch ) );
+
+        var skip = !failureRepairEventList.isFailureOrRepairBefore( nextEpochTimeoutEvent );
+        cluster.setSkipped( skip );
+        if ( skip )
+        {
+            LOGGER.debug( " - skip, no failures in next epoch" );
+        }
+        else if ( !inFlight )
+        {
+            cluster.setStreamEpoch( currentEpoch );
+            for ( int i = 0; i < config.getClusterSize(); i++ )
+            {
+                if ( cluster.getNodeState( i ) == NodeState.OPERATIONAL )
+                {
+                    var nextTransactionCompletionTime = thisEventTime + rand.generateTransactionServiceTime();
+                    eventList.addEvent( new TransactionEvent( nextTransactionCompletionTime, EventType.TRANSACTION_COMPLETED, i, currentEpoch ) );
+                }
+            }
+        }
+    }
+
+    // pipelined mode: the oldest timed out epoch starts its commit, unless it can not commit anything
+    public static void startCommit( CommittingEpoch committing, Cluster cluster, Config config, EventList eventList, Rand rand, Metrics metrics,
+                                    double thisEventTime )
+    {
+        var failed = Objects.equals( config.getAlgorithm(), "multi" ) ?
+                     committing.getNumberOfOperationalCommitGroups() == 0 : committing.containsFailureEvent();
+        if ( failed )
+        {
+            transitionToCascadingAbort( cluster, eventList, rand, metrics, thisEventTime );
+        }
+        else
+        {
+            var commitOperationEventTime = thisEventTime + rand.generateCommitOperationDuration();
+            eventList.addEvent( new CommitOperationEvent( commitOperationEventTime, EventType.COMMIT_COMPLETED, committing.getEpoch() ) );
+        }
+    }
+
+    /**
+     * Pipelined mode: the oldest committing epoch aborts. Every younger epoch, those waiting to commit and the one
+     * executing, read its uncommitted writes and aborts with it
+     */
+    public static void transitionToCascadingAbort( Cluster cluster, EventList eventList, Rand rand, Metrics metrics, double thisEventTime )
+    {
+        for ( var committing : cluster.getCommittingEpochs() )
+        {
+            cluster.abortCommittingEpoch( committing, metrics );
+        }
+        cluster.getCommittingEpochs().clear();
+
+        // the executing epoch is recorded as cascaded when its abort completes
+        cluster.setCascadingAbort( true );
+        transitionToAborting( cluster, eventList, rand, thisEventTime, cluster.getCurrentEpoch() );
+    }
+
     public static void transitionToAborting( Cluster cluster, EventList eventList, Rand rand, double thisEventTime, Integer currentEpoch )
     {
         cluster.setCurrentEpochState( EpochState.ABORTING );
@@ -14,9 +14,11 @@ public class Config
     private static double propDistributedTransactions;
     private static final long seedValue = 0;
     private static boolean fixSeed = true;
+    private static String eventListImpl = "heap";
     private static boolean affinity = false;
     private static String algorithm = "single";
     private static boolean fixedEpochTimeout = true;
+    private static boolean pipelined = false;
 
     private Config()
     {
@@ -38,6 +40,16 @@ public class Config
         Config.fixedEpochTimeout = fixedEpochTimeout;
     }
 
+    public boolean isPipelined()
+    {
+        return pipelined;
+    }
+
+    public void setPipelined( boolean pipelined )
+    {
+        Config.pipelined = pipelined;
+    }
+
     public boolean isAffinity()
     {
         return affinity;
@@ -183,6 +195,16 @@ public class Config
         Config.propDistributedTransactions = propDistributedTransactions;
     }
 
+    public String getEventListImpl()
+    {
+        return eventListImpl;
+    }
+
+    public void setEventListImpl( String eventListImpl )
+    {
+        Config.eventListImpl = eventListImpl;
+    }
+
     @Override
     public String toString()
     {
@@ -197,6 +219,8 @@ public class Config
                "    distributed transactions (%): " + propDistributedTransactions * 100 + "\n" +
                "    set seed: " + fixSeed + "\n" +
                "    affinity: " + affinity + "\n" +
-               "    algorithm: " + algorithm;
+               "    algorithm: " + algorithm + "\n" +
+               "    pipelined: " + pipelined + "\n" +
+               "    event list: " + eventListImpl;
     }
 }
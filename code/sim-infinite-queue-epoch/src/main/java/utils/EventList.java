@@ -1,19 +1,30 @@
 package utils;
 
 import event.AbstractEvent;
+import event.EpochEvent;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Objects;
 
 public class EventList
 {
     private static final EventList instance = new EventList();
-    private final List<AbstractEvent> eventList;
+    private final EventQueue eventList;
+
+    // epoch events from epochs before this one are stale and are dropped instead of being dispatched
+    private int cancelledBefore;
+    // number of queued epoch events per epoch, indexed from cancelledBefore
+    private int[] pendingPerEpoch;
+    private int staleEvents;
+    private long cancelledEvents;
 
     private EventList()
     {
-        eventList = new ArrayList<>();
+        eventList = createQueue( Config.getInstance().getEventListImpl() );
+        cancelledBefore = 0;
+        pendingPerEpoch = new int[4];
+        staleEvents = 0;
+        cancelledEvents = 0;
     }
 
     public static EventList getInstance()
@@ -21,13 +32,106 @@ public class EventList
         return instance;
     }
 
+    static EventQueue createQueue( String impl )
+    {
+        if ( Objects.equals( impl, "heap" ) )
+        {
+            return new HeapEventQueue();
+        }
+        else if ( Objects.equals( impl, "calendar" ) )
+        {
+            return new CalendarEventQueue();
+        }
+        else if ( Objects.equals( impl, "sort" ) )
+        {
+            return new SortedEventQueue();
+        }
+        else
+        {
+            throw new IllegalArgumentException( "Invalid event list implementation: " + impl );
+        }
+    }
+
     public void addEvent( AbstractEvent event )
     {
+        if ( event instanceof EpochEvent epochEvent )
+        {
+            var index = epochEvent.getEpoch() - cancelledBefore;
+            if ( index < 0 )
+            {
+                staleEvents += 1;
+            }
+            else
+            {
+                if ( index >= pendingPerEpoch.length )
+                {
+                    pendingPerEpoch = Arrays.copyOf( pendingPerEpoch, Math.max( index + 1, pendingPerEpoch.length * 2 ) );
+                }
+                pendingPerEpoch[index] += 1;
+            }
+        }
         eventList.add( event );
     }
 
-    public AbstractEvent getNextEvent() {
-        Collections.sort(eventList);
-        return eventList.remove(0);
+    public AbstractEvent getNextEvent()
+    {
+        while ( true )
+        {
+            var event = eventList.poll();
+            if ( event instanceof EpochEvent epochEvent )
+            {
+                var index = epochEvent.getEpoch() - cancelledBefore;
+                // skip tombstoned events
+                if ( index < 0 )
+                {
+                    staleEvents -= 1;
+                    cancelledEvents += 1;
+                    continue;
+                }
+                pendingPerEpoch[index] -= 1;
+            }
+            return event;
+        }
+    }
+
+    // cancel all queued epoch events generated before the given epoch, they stay in the queue as tombstones until
+    // popped, or until they make up half the queue at which point they are purged in bulk
+    public void cancelEpochsBefore( int epoch )
+    {
+        var shift = epoch - cancelledBefore;
+        if ( shift <= 0 )
+        {
+            return;
+        }
+
+        var length = pendingPerEpoch.length;
+        for ( int i = 0; i < Math.min( shift, length ); i++ )
+        {
+            staleEvents += pendingPerEpoch[i];
+        }
+        if ( shift < length )
+        {
+            System.arraycopy( pendingPerEpoch, shift, pendingPerEpoch, 0, length - shift );
+        }
+        Arrays.fill( pendingPerEpoch, Math.max( 0, length - shift ), length, 0 );
+        cancelledBefore = epoch;
+
+        if ( staleEvents > 0 && staleEvents * 2 > eventList.size() )
+        {
+            var removed = eventList.purge( event -> event instanceof EpochEvent epochEvent && epochEvent.getEpoch() < cancelledBefore );
+            staleEvents -= removed;
+            cancelledEvents += removed;
+        }
+    }
+
+    public long getCancelledEvents()
+    {
+        return cancelledEvents;
+    }
+
+    // number of live (not cancelled) events
+    public int size()
+    {
+        return eventList.size() - staleEvents;
     }
 }
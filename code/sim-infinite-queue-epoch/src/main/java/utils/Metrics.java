@@ -32,6 +32,10 @@ public class Metrics
 
     private long committedTransactionsDuringFailures;
 
+    // pipelined mode: epochs aborted and jobs lost only because an older epoch aborted or lost commit groups
+    private int cascadingAbortedEpochs;
+    private long cascadingLostJobs;
+
     private Metrics()
     {
         // epochs
@@ -57,6 +61,9 @@ public class Metrics
         cyclesWithMultipleFailures = 0;
 
         committedTransactionsDuringFailures = 0;
+
+        cascadingAbortedEpochs = 0;
+        cascadingLostJobs = 0;
     }
 
     public static Metrics getInstance()
@@ -74,6 +81,26 @@ public class Metrics
         return committedTransactionsDuringFailures;
     }
 
+    public void incCascadingAbortedEpochs()
+    {
+        this.cascadingAbortedEpochs += 1;
+    }
+
+    public void incCascadingLostJobs( int toAdd )
+    {
+        this.cascadingLostJobs += toAdd;
+    }
+
+    public int getCascadingAbortedEpochs()
+    {
+        return cascadingAbortedEpochs;
+    }
+
+    public long getCascadingLostJobs()
+    {
+        return cascadingLostJobs;
+    }
+
     public void incCyclesWithFailures()
     {
         this.cyclesWithFailures += 1;
@@ -257,5 +284,11 @@ public class Metrics
         {
             LOGGER.info( "  average operational commit groups/failure: " + getAverageNumberOfOperationalCommitGroupsPerFailure() );
         }
+
+        if ( config.isPipelined() )
+        {
+            LOGGER.info( "  cascading aborted epoch(s): " + getCascadingAbortedEpochs() );
+            LOGGER.info( "  cascading lost jobs: " + getCascadingLostJobs() );
+        }
     }
 }
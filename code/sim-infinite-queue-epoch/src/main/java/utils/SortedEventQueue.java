@@ -0,0 +1,46 @@
+package utils;
+
+import event.AbstractEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+// original implementation, sorts the whole list on every poll
+class SortedEventQueue implements EventQueue
+{
+    private final List<AbstractEvent> eventList;
+
+    SortedEventQueue()
+    {
+        eventList = new ArrayList<>();
+    }
+
+    @Override
+    public void add( AbstractEvent event )
+    {
+        eventList.add( event );
+    }
+
+    @Override
+    public AbstractEvent poll()
+    {
+        Collections.sort( eventList );
+        return eventList.remove( 0 );
+    }
+
+    @Override
+    public int size()
+    {
+        return eventList.size();
+    }
+
+    @Override
+    public int purge( Predicate<AbstractEvent> filter )
+    {
+        var before = eventList.size();
+        eventList.removeIf( filter );
+        return before - eventList.size();
+    }
+}
@@ -11,11 +11,12 @@ public class WriteOutResults
     public static void writeOutResults( Config config, Metrics metrics, double realTime, double simulationTime )
     {
 
-        String[] headers = {"n", "a", "b", "mu", "xi", "eta", "k", "algo",
+        String[] headers = {"n", "a", "b", "mu", "xi", "eta", "k", "algo", "pipelined",
                             "completedJobPs", "lostJobsPs", "lostJobsPf", "avOpCommitGroupsPf", "avCommitsPf",
                             "completedEp", "failedEp", "partialEp", "failureEvents",
                             "totalCompletedJobs", "totalLostJobs", "totalOpCommitGroupsPf",
                             "cyclesWithFailures", "cyclesWithMultipleFailures",
+                            "cascadingAbortedEp", "cascadingLostJobs",
                             "realTime", "simTime"};
 
         StringBuilder headerStringBuilder = new StringBuilder();
@@ -38,7 +39,8 @@ public class WriteOutResults
         var eta = config.getRepairRateInMillis(); // repair rate
         var k = config.getPropDistributedTransactions() * 100; // proportion of distributed transactions
         var algo = config.getAlgorithm(); // protocol
-        String params = String.format( "%s,%s,%s,%s,%s,%s,%s,%s", n, a, b, mu, xi, eta, k, algo );
+        var pipelined = config.isPipelined(); // commit epoch e whilst executing e+1
+        String params = String.format( "%s,%s,%s,%s,%s,%s,%s,%s,%s", n, a, b, mu, xi, eta, k, algo, pipelined );
 
         // main metrics
         var completedJobPs = metrics.getCompletedJobsPerSec();
@@ -58,10 +60,13 @@ public class WriteOutResults
         var totalOpCommitGroupsPf = metrics.getCumulativeOperationalCommitGroupsPerFailure();
         var cyclesWithFailures = metrics.getCyclesWithFailures();
         var cyclesWithMultipleFailures = metrics.getCyclesWithMultipleFailures();
-        String raw = String.format( "%s,%s,%s,%s,%s,%s,%s,%s,%s",
+        var cascadingAbortedEpochs = metrics.getCascadingAbortedEpochs();
+        var cascadingLostJobs = metrics.getCascadingLostJobs();
+        String raw = String.format( "%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s",
                 completedEpochs, failedEpochs, partialEpochs, failureEvents,
                 totalCompletedJobs, totalLostJobs, totalOpCommitGroupsPf,
-                cyclesWithFailures, cyclesWithMultipleFailures );
+                cyclesWithFailures, cyclesWithMultipleFailures,
+                cascadingAbortedEpochs, cascadingLostJobs );
 
         BufferedWriter outputStream = null;
         FileWriter fileWriter;
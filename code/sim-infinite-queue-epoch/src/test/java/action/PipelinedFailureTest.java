@@ -0,0 +1,140 @@
+package action;
+
+import event.AbortOperationEvent;
+import event.CommitOperationEvent;
+import event.EventType;
+import event.FailureEvent;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import state.Cluster;
+import state.EpochState;
+import utils.Config;
+import utils.EventList;
+import utils.FailureRepairEventList;
+import utils.Metrics;
+import utils.Rand;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// a failure whilst three timed out epochs wait to commit is one failed cycle, whatever else it takes down with it.
+// The simulator state is held in singletons, so each test checks the change in the metrics it causes
+class PipelinedFailureTest
+{
+    private static final int PIPELINE_DEPTH = 3;
+
+    private static Config config;
+    private static double time;
+
+    @BeforeAll
+    static void setUp()
+    {
+        config = Config.getInstance();
+        config.setClusterSize( 8 );
+        config.setEpochTimeout( 100 );
+        config.setCommitOperationRate( 1.7 );
+        config.setAbortOperationRate( 1.7 );
+        config.setTransactionServiceRate( 1 );
+        config.setFailureRate( 675000 );
+        config.setRepairRate( 30000 );
+        config.setFixSeed( true );
+        config.setPropDistributedTransactions( 0.1 );
+        config.setPipelined( true );
+        time = 0;
+    }
+
+    @Test
+    void singleFailureAbortsPipelineAsOneFailedCycle()
+    {
+        config.setAlgorithm( "single" );
+        var cluster = Cluster.getInstance();
+        var metrics = Metrics.getInstance();
+        var before = new Counts( metrics );
+
+        fillPipeline( cluster );
+        fail( 1, cluster, metrics );
+
+        // the oldest epoch aborts, the two queued behind it and the executing one cascade
+        assertTrue( cluster.getCommittingEpochs().isEmpty() );
+        assertEquals( EpochState.ABORTING, cluster.getCurrentEpochState() );
+        time += 1;
+        AbortOperationAction.abort( new AbortOperationEvent( time, EventType.ABORT_COMPLETED, cluster.getCurrentEpoch() ), cluster, config,
+                EventList.getInstance(), Rand.getInstance(), metrics, FailureRepairEventList.getInstance() );
+
+        var after = new Counts( metrics );
+        assertEquals( 1, after.failureEvents - before.failureEvents );
+        assertEquals( 1, after.cyclesWithFailures - before.cyclesWithFailures );
+        assertEquals( 1, after.totallyFailedEpochs - before.totallyFailedEpochs );
+        assertEquals( 0, after.partiallyFailedEpochs - before.partiallyFailedEpochs );
+        assertEquals( PIPELINE_DEPTH, after.cascadingAbortedEpochs - before.cascadingAbortedEpochs );
+    }
+
+    @Test
+    void multiFailureLosesOneCommitGroupAsOneFailedCycle()
+    {
+        config.setAlgorithm( "multi" );
+        var cluster = Cluster.getInstance();
+        var metrics = Metrics.getInstance();
+        var before = new Counts( metrics );
+
+        fillPipeline( cluster );
+        fail( 2, cluster, metrics );
+
+        // the other commit groups are operational, every epoch commits in turn
+        assertEquals( PIPELINE_DEPTH, cluster.getCommittingEpochs().size() );
+        while ( !cluster.getCommittingEpochs().isEmpty() )
+        {
+            time += 1;
+            var epoch = cluster.getCommittingEpochs().getFirst().getEpoch();
+            CommitOperationAction.commit( new CommitOperationEvent( time, EventType.COMMIT_COMPLETED, epoch ), cluster, config,
+                    EventList.getInstance(), Rand.getInstance(), metrics, FailureRepairEventList.getInstance() );
+        }
+
+        var after = new Counts( metrics );
+        assertEquals( 1, after.failureEvents - before.failureEvents );
+        assertEquals( 1, after.cyclesWithFailures - before.cyclesWithFailures );
+        assertEquals( 0, after.totallyFailedEpochs - before.totallyFailedEpochs );
+        assertEquals( 1, after.partiallyFailedEpochs - before.partiallyFailedEpochs );
+        assertEquals( PIPELINE_DEPTH - 1, after.completedEpochs - before.completedEpochs );
+        assertEquals( 0, after.cascadingAbortedEpochs - before.cascadingAbortedEpochs );
+    }
+
+    // time out epochs without completing their commits, so they queue behind the oldest
+    private static void fillPipeline( Cluster cluster )
+    {
+        assertTrue( cluster.getCommittingEpochs().isEmpty() );
+        for ( int i = 0; i < PIPELINE_DEPTH; i++ )
+        {
+            time += 100;
+            cluster.closeEpoch( time, config );
+        }
+        assertEquals( PIPELINE_DEPTH, cluster.getCommittingEpochs().size() );
+    }
+
+    private static void fail( int nodeId, Cluster cluster, Metrics metrics )
+    {
+        time += 1;
+        FailureAction.fail( new FailureEvent( time, EventType.FAILURE, nodeId ), cluster, EventList.getInstance(), Rand.getInstance(), metrics,
+                FailureRepairEventList.getInstance(), config );
+    }
+
+    private static class Counts
+    {
+        private final int failureEvents;
+        private final int cyclesWithFailures;
+        private final int totallyFailedEpochs;
+        private final int partiallyFailedEpochs;
+        private final int completedEpochs;
+        private final int cascadingAbortedEpochs;
+
+        private Counts( Metrics metrics )
+        {
+            this.failureEvents = metrics.getFailureEvents();
+            this.cyclesWithFailures = metrics.getCyclesWithFailures();
+            this.totallyFailedEpochs = metrics.getTotallyFailedEpochs();
+            this.partiallyFailedEpochs = metrics.getPartiallyFailedEpochs();
+            this.completedEpochs = metrics.getCompletedEpochs();
+            this.cascadingAbortedEpochs = metrics.getCascadingAbortedEpochs();
+        }
+    }
+}
@@ -39,6 +39,9 @@ public class Main implements Callable<Integer> {
 
     @Option(names = {"-pl", "--propLongTransaction"}, description = "Proportion of long transactions")
     private double propLongTransactions = 0.1;
+
+    @Option(names = {"-el", "--eventListImpl"}, description = "Event list implementation (heap, calendar or sort)")
+    private String eventListImpl = "heap";
     @Override
     public Integer call() {
         // config
@@ -50,6 +53,7 @@ public class Main implements Callable<Integer> {
         config.setLongTransactionServiceRate(longTransactionServiceRate);
         config.setPropLongTransactions(propLongTransactions);
         config.setFixSeed(Boolean.parseBoolean(fixSeed));
+        config.setEventListImpl(eventListImpl);
 
         // global variables
         var rand = Rand.getInstance();
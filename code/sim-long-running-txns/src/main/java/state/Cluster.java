@@ -4,6 +4,7 @@ import utils.Config;
 import utils.Metrics;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Cluster {
@@ -15,6 +16,7 @@ public class Cluster {
     EpochState currentEpochState;
     List<Integer> completedJobs;
     List<NodeState> nodeStates;
+    int[] nodeStateCounts; // number of nodes in each state
     boolean skipped;
 
     private Cluster() {
@@ -26,11 +28,13 @@ public class Cluster {
         this.completedJobs = new ArrayList<>();
 
         this.nodeStates = new ArrayList<>();
+        this.nodeStateCounts = new int[NodeState.values().length];
 
         for (int i = 0; i < clusterSize; i++) {
             completedJobs.add(0);
             nodeStates.add(NodeState.OPERATIONAL);
         }
+        nodeStateCounts[NodeState.OPERATIONAL.ordinal()] = clusterSize;
     }
 
     public static Cluster getInstance() {
@@ -54,14 +58,8 @@ public class Cluster {
     }
 
     public boolean areAllOperationalNodesReadyToCommit(Config config) {
-        for (int i = 0; i < config.getClusterSize(); i++) {
-            var nodeState = getNodeState(i);
-            if (nodeState == NodeState.OPERATIONAL) {
-                return false; // one node is not ready yet
-            }
-        }
-
-        return true;
+        assert nodeStateCountsMatchScan();
+        return nodeStateCounts[NodeState.OPERATIONAL.ordinal()] == 0;
     }
 
     public void complete(Metrics metrics, double end) {
@@ -101,7 +99,20 @@ public class Cluster {
     }
 
     public void setNodeState(int nodeId, NodeState state) {
-        this.nodeStates.set(nodeId, state);
+        var previous = this.nodeStates.set(nodeId, state);
+        nodeStateCounts[previous.ordinal()] -= 1;
+        nodeStateCounts[state.ordinal()] += 1;
+
+        assert nodeStateCountsMatchScan();
+    }
+
+    // full scan cross-check of the incremental state counts, only run with assertions enabled (-ea)
+    private boolean nodeStateCountsMatchScan() {
+        var counts = new int[nodeStateCounts.length];
+        for (var nodeState : nodeStates) {
+            counts[nodeState.ordinal()] += 1;
+        }
+        return Arrays.equals(counts, nodeStateCounts);
     }
 
     public NodeState getNodeState(int nodeId) {
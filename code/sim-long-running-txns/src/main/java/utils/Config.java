@@ -12,6 +12,7 @@ public class Config {
 
     private static final long seedValue = 0;
     private static boolean fixSeed = true;
+    private static String eventListImpl = "heap";
 
     private Config() {
 
@@ -99,6 +100,14 @@ public class Config {
         Config.propLongTransactions = propLongRunningTransactions;
     }
 
+    public String getEventListImpl() {
+        return eventListImpl;
+    }
+
+    public void setEventListImpl(String eventListImpl) {
+        Config.eventListImpl = eventListImpl;
+    }
+
     @Override
     public String toString() {
         return "\n" +
@@ -108,6 +117,7 @@ public class Config {
                 "    average short transaction service rate (ms): " + getShortTransactionServiceRateInMillis() + "\n" +
                 "    average long transaction service rate (ms): " + getLongTransactionServiceRateInMillis() + "\n" +
                 "    long transactions proportion (%): " + getPropLongTransactions() * 100 + "\n" +
-                "    set seed: " + fixSeed;
+                "    set seed: " + fixSeed + "\n" +
+                "    event list: " + eventListImpl;
     }
 }